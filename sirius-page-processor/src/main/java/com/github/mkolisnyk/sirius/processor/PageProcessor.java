@@ -0,0 +1,409 @@
+package com.github.mkolisnyk.sirius.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * <p>
+ * Annotation processor which generates page factories for all classes extended from
+ * <b>com.github.mkolisnyk.sirius.client.ui.Page</b> class. Each generated factory creates
+ * the page instance and initialises all controls and nested pages with plain Java code,
+ * so that no reflection is needed at runtime. Additionally, the processor writes
+ * the <b>META-INF/sirius/pages.index</b> resource which lists all generated factories together
+ * with page logical names.
+ * </p>
+ * <p>
+ * If the page class cannot be instantiated without reflection (e.g. it is abstract, it has no
+ * public constructor accepting WebDriver or some control type has no public constructor
+ * accepting page and locator) the factory is not generated and such page is processed
+ * by reflection at runtime.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+@SupportedAnnotationTypes("*")
+public class PageProcessor extends AbstractProcessor {
+    private static final String UI_PACKAGE = "com.github.mkolisnyk.sirius.client.ui";
+    private static final String PAGE = UI_PACKAGE + ".Page";
+    private static final String ALIAS = UI_PACKAGE + ".Alias";
+    private static final String FIND_BY = UI_PACKAGE + ".FindBy";
+    private static final String FIND_BY_LIST = UI_PACKAGE + ".FindByList";
+    private static final String SUB_ITEM = UI_PACKAGE + ".SubItem";
+    private static final String SUB_ITEMS = UI_PACKAGE + ".SubItems";
+    private static final String CONTROL = UI_PACKAGE + ".controls.Control";
+    private static final String SCROLL_TO = UI_PACKAGE + ".ScrollTo";
+    private static final String GENERATED_PAGES = UI_PACKAGE + ".GeneratedPages";
+    private static final String PLATFORM = "com.github.mkolisnyk.sirius.client.Platform";
+    private static final String WEB_DRIVER = "org.openqa.selenium.WebDriver";
+    private static final String LOCATORS = UI_PACKAGE + ".Locators";
+    private static final String BY = "org.openqa.selenium.By";
+    private static final String INDEX_RESOURCE = "META-INF/sirius/pages.index";
+    private static final String FACTORY_SUFFIX = "_SiriusFactory";
+
+    private final List<String> indexEntries = new ArrayList<String>();
+    private final Set<String> processed = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        TypeElement page = processingEnv.getElementUtils().getTypeElement(PAGE);
+        if (page == null) {
+            return false;
+        }
+        List<TypeElement> candidates = new ArrayList<TypeElement>();
+        for (Element root : roundEnv.getRootElements()) {
+            collectTypes(root, candidates);
+        }
+        for (TypeElement type : candidates) {
+            if (isSubtype(type.asType(), PAGE)
+                    && !type.getQualifiedName().contentEquals(PAGE)
+                    && processed.add(type.getQualifiedName().toString())) {
+                generate(type);
+            }
+        }
+        return false;
+    }
+
+    private void collectTypes(Element element, List<TypeElement> result) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            return;
+        }
+        result.add((TypeElement) element);
+        for (TypeElement member : ElementFilter.typesIn(element.getEnclosedElements())) {
+            collectTypes(member, result);
+        }
+    }
+
+    private boolean isSubtype(TypeMirror type, String superType) {
+        TypeElement superElement = processingEnv.getElementUtils().getTypeElement(superType);
+        return superElement != null && processingEnv.getTypeUtils().isSubtype(
+                processingEnv.getTypeUtils().erasure(type),
+                processingEnv.getTypeUtils().erasure(superElement.asType()));
+    }
+
+    private boolean isInner(TypeElement type) {
+        return type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private String packageOf(Element element) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(element);
+        return pkg.getQualifiedName().toString();
+    }
+
+    private boolean isAccessible(TypeElement type, String fromPackage) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || !modifiers.contains(Modifier.PUBLIC) && !packageOf(current).equals(fromPackage)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean hasConstructor(TypeElement type, String... parameterTypes) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)
+                    || constructor.getParameters().size() != parameterTypes.length) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                TypeMirror parameter = processingEnv.getTypeUtils().erasure(
+                        constructor.getParameters().get(i).asType());
+                if (!parameter.toString().equals(parameterTypes[i])) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String typeName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private String factoryName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element current = type.getEnclosingElement();
+        while (current instanceof TypeElement) {
+            name = current.getSimpleName() + "_" + name;
+            current = current.getEnclosingElement();
+        }
+        return name + FACTORY_SUFFIX;
+    }
+
+    private Map<String, AnnotationValue> values(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> result = new HashMap<String, AnnotationValue>();
+        for (Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            result.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        return result;
+    }
+
+    private List<Map<String, AnnotationValue>> annotations(Element element, String single, String container) {
+        List<Map<String, AnnotationValue>> result = new ArrayList<Map<String, AnnotationValue>>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (name.equals(single)) {
+                result.add(values(mirror));
+            } else if (name.equals(container)) {
+                for (Object item : (List<?>) values(mirror).get("value").getValue()) {
+                    result.add(values((AnnotationMirror) ((AnnotationValue) item).getValue()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private String stringValue(Map<String, AnnotationValue> values, String name) {
+        return (String) values.get(name).getValue();
+    }
+
+    private String enumValue(Map<String, AnnotationValue> values, String name, String enumType) {
+        return enumType + "." + ((VariableElement) values.get(name).getValue()).getSimpleName();
+    }
+
+    private String locatorCode(String input) {
+        return LOCATORS + ".parse(" + literal(input) + ")";
+    }
+
+    private String controlCode(VariableElement field, TypeElement fieldType,
+            List<Map<String, AnnotationValue>> locators) {
+        StringBuilder code = new StringBuilder();
+        code.append("        page.").append(field.getSimpleName()).append(" = ")
+            .append(GENERATED_PAGES).append(".control(page, platform, ")
+            .append(fieldType.getQualifiedName()).append("::new,\n")
+            .append("            new ").append(GENERATED_PAGES).append(".Definition[] {\n");
+        for (Map<String, AnnotationValue> locator : locators) {
+            code.append("                new ").append(GENERATED_PAGES).append(".Definition(")
+                .append(enumValue(locator, "platform", PLATFORM)).append(", ")
+                .append(locatorCode(stringValue(locator, "locator"))).append(", ")
+                .append("new ").append(BY).append("[] {");
+            for (Object alternative : (List<?>) locator.get("alternatives").getValue()) {
+                code.append(locatorCode((String) ((AnnotationValue) alternative).getValue())).append(", ");
+            }
+            code.append("}, ")
+                .append(literal(stringValue(locator, "itemLocator"))).append(", ")
+                .append(literal(stringValue(locator, "scrollTo"))).append(", ")
+                .append(enumValue(locator, "scrollDirection", SCROLL_TO)).append(", ")
+                .append(literal(stringValue(locator, "format"))).append(", ")
+                .append(locator.get("excludeFromSearch").getValue()).append("),\n");
+        }
+        code.append("            },\n")
+            .append("            new ").append(UI_PACKAGE).append(".SubItem[] {\n");
+        for (Map<String, AnnotationValue> item : annotations(field, SUB_ITEM, SUB_ITEMS)) {
+            code.append("                ").append(GENERATED_PAGES).append(".subItem(")
+                .append(literal(stringValue(item, "name"))).append(", ")
+                .append(literal(stringValue(item, "locator"))).append(", ")
+                .append(enumValue(item, "platform", PLATFORM)).append(", ")
+                .append(typeName((TypeMirror) item.get("controlType").getValue())).append(".class),\n");
+        }
+        code.append("            });\n");
+        return code.toString();
+    }
+
+    private String fieldsCode(TypeElement type, String pkg) {
+        StringBuilder code = new StringBuilder();
+        Map<String, VariableElement> fields = new LinkedHashMap<String, VariableElement>();
+        for (VariableElement field
+                : ElementFilter.fieldsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (field.getModifiers().contains(Modifier.PUBLIC)
+                    && !fields.containsKey(field.getSimpleName().toString())) {
+                fields.put(field.getSimpleName().toString(), field);
+            }
+        }
+        for (VariableElement field : fields.values()) {
+            List<Map<String, AnnotationValue>> locators = annotations(field, FIND_BY, FIND_BY_LIST);
+            boolean isControl = locators.size() > 0;
+            boolean isSection = !isControl && isSubtype(field.asType(), PAGE);
+            if (!isControl && !isSection) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.FINAL) || field.asType().getKind() != TypeKind.DECLARED) {
+                return skip(type, "field '" + field.getSimpleName() + "' cannot be assigned");
+            }
+            TypeElement fieldType = (TypeElement) ((DeclaredType) field.asType()).asElement();
+            if (!isAccessible(fieldType, pkg)) {
+                return skip(type, "type of the '" + field.getSimpleName() + "' field isn't accessible");
+            }
+            if (isSection) {
+                code.append("        page.").append(field.getSimpleName()).append(" = ")
+                    .append(GENERATED_PAGES).append(".section(driver, page, ")
+                    .append(fieldType.getQualifiedName()).append(".class);\n");
+                continue;
+            }
+            if (fieldType.getModifiers().contains(Modifier.ABSTRACT)
+                    || isInner(fieldType)
+                    || !isSubtype(fieldType.asType(), CONTROL)
+                    || !hasConstructor(fieldType, PAGE, BY)) {
+                return skip(type, "control '" + field.getSimpleName() + "' cannot be created without reflection");
+            }
+            for (Map<String, AnnotationValue> item : annotations(field, SUB_ITEM, SUB_ITEMS)) {
+                TypeMirror itemType = (TypeMirror) item.get("controlType").getValue();
+                if (!isAccessible((TypeElement) ((DeclaredType) itemType).asElement(), pkg)) {
+                    return skip(type, "sub-item type of the '" + field.getSimpleName() + "' field isn't accessible");
+                }
+            }
+            code.append(controlCode(field, fieldType, locators));
+        }
+        return code.toString();
+    }
+
+    private String skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Kind.NOTE,
+                String.format("Page factory for %s is not generated: %s", type.getQualifiedName(), reason), type);
+        return null;
+    }
+
+    private String instanceCode(TypeElement type) {
+        String pageType = type.getQualifiedName().toString();
+        if (!isInner(type)) {
+            return "        " + pageType + " page = new " + pageType + "(driver);\n";
+        }
+        TypeElement outer = (TypeElement) type.getEnclosingElement();
+        String outerType = outer.getQualifiedName().toString();
+        return "        " + outerType + " outer;\n"
+            + "        if (parent instanceof " + outerType + ") {\n"
+            + "            outer = (" + outerType + ") parent;\n"
+            + "        } else {\n"
+            + "            outer = " + UI_PACKAGE + ".PageFactory.init(driver, " + outerType + ".class);\n"
+            + "        }\n"
+            + "        " + pageType + " page = outer.new " + type.getSimpleName() + "(driver);\n";
+    }
+
+    private void generate(TypeElement type) {
+        String pkg = packageOf(type);
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty()
+                || !isAccessible(type, pkg)
+                || !hasConstructor(type, WEB_DRIVER)
+                || isInner(type) && !isSubtype(type.getEnclosingElement().asType(), PAGE)) {
+            skip(type, "page cannot be created without reflection");
+            return;
+        }
+        String fields = fieldsCode(type, pkg);
+        if (fields == null) {
+            return;
+        }
+        String pageType = type.getQualifiedName().toString();
+        String factory = factoryName(type);
+        StringBuilder code = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            code.append("package ").append(pkg).append(";\n\n");
+        }
+        code.append("/**\n")
+            .append(" * Page factory generated for {@link ").append(pageType).append("} class.\n")
+            .append(" */\n")
+            .append("public final class ").append(factory).append("\n")
+            .append("        implements ").append(UI_PACKAGE).append(".GeneratedPageFactory<")
+            .append(pageType).append("> {\n")
+            .append("    @Override\n")
+            .append("    public ").append(pageType).append(" create(").append(WEB_DRIVER).append(" driver,\n")
+            .append("            ").append(PAGE).append(" parent) throws Exception {\n")
+            .append(instanceCode(type))
+            .append("        ").append(PLATFORM).append(" platform = ")
+            .append("com.github.mkolisnyk.sirius.client.Configuration.platform();\n")
+            .append(fields)
+            .append("        return page;\n")
+            .append("    }\n")
+            .append("}\n");
+        String factoryClass = pkg.isEmpty() ? factory : pkg + "." + factory;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(factoryClass, type);
+            Writer writer = file.openWriter();
+            try {
+                writer.write(code.toString());
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Unable to write page factory: " + e.getMessage(), type);
+            return;
+        }
+        String alias = "";
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ALIAS)) {
+                alias = stringValue(values(mirror), "value");
+            }
+        }
+        indexEntries.add(String.format("%s\t%s\t%s\t%s",
+                processingEnv.getElementUtils().getBinaryName(type),
+                factoryClass,
+                alias,
+                type.getNestingKind() == NestingKind.MEMBER));
+    }
+
+    private void writeIndex() {
+        if (indexEntries.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            Writer writer = file.openWriter();
+            try {
+                for (String entry : indexEntries) {
+                    writer.write(entry);
+                    writer.write("\n");
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Unable to write page index: " + e.getMessage());
+        }
+    }
+}
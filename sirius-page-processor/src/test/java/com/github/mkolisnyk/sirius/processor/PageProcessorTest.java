@@ -0,0 +1,143 @@
+package com.github.mkolisnyk.sirius.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.ui.GeneratedPageFactory;
+import com.github.mkolisnyk.sirius.client.ui.Locators;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class PageProcessorTest {
+    private static final String PAGES = "com.github.mkolisnyk.sirius.processor.sample";
+    private static final String SAMPLE_PAGE = "package " + PAGES + ";\n"
+            + "import com.github.mkolisnyk.sirius.client.ui.*;\n"
+            + "import com.github.mkolisnyk.sirius.client.ui.controls.Control;\n"
+            + "import org.openqa.selenium.WebDriver;\n"
+            + "@Alias(\"Sample\")\n"
+            + "public class SamplePage extends Page {\n"
+            + "    @FindBy(locator = \"id=login\")\n"
+            + "    public Control login;\n"
+            + "    public SamplePage(WebDriver driver) {\n"
+            + "        super(driver);\n"
+            + "    }\n"
+            + "}\n";
+    private static final String ABSTRACT_PAGE = "package " + PAGES + ";\n"
+            + "import com.github.mkolisnyk.sirius.client.ui.*;\n"
+            + "import org.openqa.selenium.WebDriver;\n"
+            + "@Alias(\"Abstract\")\n"
+            + "public abstract class AbstractPage extends Page {\n"
+            + "    public AbstractPage(WebDriver driver) {\n"
+            + "        super(driver);\n"
+            + "    }\n"
+            + "}\n";
+
+    private File output;
+    private StringWriter messages;
+
+    private static JavaFileObject source(final String name, final String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private boolean compile(JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> options = new ArrayList<String>(Arrays.asList(
+                "-d", output.getAbsolutePath(),
+                "-s", output.getAbsolutePath(),
+                "-classpath", System.getProperty("java.class.path")));
+        JavaCompiler.CompilationTask task = compiler.getTask(messages, null, null, options, null,
+                Arrays.asList(sources));
+        task.setProcessors(Arrays.asList(new PageProcessor()));
+        return task.call();
+    }
+
+    private String read(String path) throws IOException {
+        return new String(Files.readAllBytes(new File(output, path).toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        output = Files.createTempDirectory("sirius-processor").toFile();
+        messages = new StringWriter();
+    }
+    @After
+    public void tearDown() {
+        Configuration.reset();
+    }
+
+    @Test
+    public void testFactoryAndIndexAreGeneratedForConcretePage() throws Exception {
+        Assert.assertTrue(messages.toString(), compile(source(PAGES + ".SamplePage", SAMPLE_PAGE)));
+        String factory = read(PAGES.replace('.', '/') + "/SamplePage_SiriusFactory.java");
+        Assert.assertTrue(factory.contains("new " + PAGES + ".SamplePage(driver)"));
+        Assert.assertTrue(factory.contains("page.login = "));
+        Assert.assertEquals(PAGES + ".SamplePage\t" + PAGES + ".SamplePage_SiriusFactory\tSample\tfalse\n",
+                read("META-INF/sirius/pages.index"));
+    }
+    @Test
+    public void testAbstractPageIsSkipped() throws Exception {
+        Assert.assertTrue(messages.toString(), compile(source(PAGES + ".AbstractPage", ABSTRACT_PAGE)));
+        Assert.assertFalse(new File(output, PAGES.replace('.', '/') + "/AbstractPage_SiriusFactory.java").exists());
+        Assert.assertFalse(new File(output, "META-INF/sirius/pages.index").exists());
+        Assert.assertTrue(messages.toString(),
+                messages.toString().contains("Page factory for " + PAGES + ".AbstractPage is not generated"));
+    }
+    @Test
+    public void testGeneratedFactoryInitialisesControls() throws Exception {
+        File config = new File(output, "config.properties");
+        Files.write(config.toPath(), "platform=web\n".getBytes(StandardCharsets.UTF_8));
+        Configuration.load(config.getAbsolutePath());
+        Assert.assertTrue(messages.toString(), compile(source(PAGES + ".SamplePage", SAMPLE_PAGE)));
+        URLClassLoader loader = new URLClassLoader(new URL[] {output.toURI().toURL()},
+                getClass().getClassLoader());
+        try {
+            GeneratedPageFactory<?> factory = (GeneratedPageFactory<?>) loader
+                    .loadClass(PAGES + ".SamplePage_SiriusFactory").getConstructor().newInstance();
+            WebDriver driver = (WebDriver) Proxy.newProxyInstance(loader, new Class<?>[] {WebDriver.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (method.getName().equals("equals")) {
+                            return proxy == args[0];
+                        }
+                        return null;
+                    });
+            Page page = factory.create(driver, null);
+            Control login = (Control) page.getClass().getField("login").get(page);
+            Assert.assertNotNull(login);
+            Assert.assertSame(page, login.getParent());
+            Assert.assertEquals(Locators.text(Locators.parse("id=login")), login.getLocatorText());
+        } finally {
+            loader.close();
+        }
+    }
+}
@@ -190,4 +190,64 @@ public final class Configuration {
     public static String pagesPackage() {
         return get(ConfigurationOption.PAGES_PACKAGE);
     }
+    /**
+     * Retrieves the path to the file where page metadata is cached between runs.
+     * If the option isn't defined the cache isn't used.
+     * @return the path to page metadata cache file or empty string if it is not defined.
+     * @see com.github.mkolisnyk.sirius.client.ui.PageMetadataCache
+     */
+    public static String pagesCache() {
+        return get(ConfigurationOption.PAGES_CACHE).trim();
+    }
+    private static long getLong(ConfigurationOption option, long defaultValue) {
+        String value = get(option).trim();
+        if (value.equals("")) {
+            return defaultValue;
+        }
+        return Long.parseLong(value);
+    }
+    /**
+     * Retrieves the interval (in milliseconds) between the first and the second poll of waiting loops.
+     * @param defaultValue the value to return if the <b>polling_initial</b> option isn't defined.
+     * @return initial polling interval.
+     * @see com.github.mkolisnyk.sirius.client.ui.WaitEngine
+     */
+    public static long pollingInitial(long defaultValue) {
+        return getLong(ConfigurationOption.POLLING_INITIAL, defaultValue);
+    }
+    /**
+     * Retrieves the maximal interval (in milliseconds) between polls of waiting loops.
+     * @param defaultValue the value to return if the <b>polling_max</b> option isn't defined.
+     * @return maximal polling interval.
+     * @see com.github.mkolisnyk.sirius.client.ui.WaitEngine
+     */
+    public static long pollingMax(long defaultValue) {
+        return getLong(ConfigurationOption.POLLING_MAX, defaultValue);
+    }
+    /**
+     * Identifies whether control state waits should be performed by the DOM observer rather than polling.
+     * @return true - if the <b>event_waits</b> option is set to <b>true</b>, false - otherwise.
+     * @see com.github.mkolisnyk.sirius.client.ui.ObserverWait
+     */
+    public static boolean eventWaits() {
+        return Boolean.parseBoolean(get(ConfigurationOption.EVENT_WAITS).trim());
+    }
+    /**
+     * Retrieves the asynchronous script timeout (in milliseconds) the driver is configured with.
+     * The option doesn't change the driver settings, it only tells how long single script may run.
+     * @param defaultValue the value to return if the <b>script_timeout</b> option isn't defined.
+     * @return asynchronous script timeout.
+     * @see com.github.mkolisnyk.sirius.client.ui.ObserverWait
+     */
+    public static long scriptTimeout(long defaultValue) {
+        return getLong(ConfigurationOption.SCRIPT_TIMEOUT, defaultValue);
+    }
+    /**
+     * Retrieves the time limit (in seconds) for all waits performed during single scenario.
+     * @return the scenario time budget or 0 if the <b>scenario_budget</b> option isn't defined.
+     * @see com.github.mkolisnyk.sirius.client.ui.TimeBudget
+     */
+    public static long scenarioBudget() {
+        return getLong(ConfigurationOption.SCENARIO_BUDGET, 0L);
+    }
 }
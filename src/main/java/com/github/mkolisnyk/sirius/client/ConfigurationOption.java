@@ -10,7 +10,13 @@ package com.github.mkolisnyk.sirius.client;
 public enum ConfigurationOption {
     PLATFORM("platform"),
     TIMEOUT("timeout"),
-    PAGES_PACKAGE("pages_package");
+    PAGES_PACKAGE("pages_package"),
+    PAGES_CACHE("pages_cache"),
+    POLLING_INITIAL("polling_initial"),
+    POLLING_MAX("polling_max"),
+    EVENT_WAITS("event_waits"),
+    SCRIPT_TIMEOUT("script_timeout"),
+    SCENARIO_BUDGET("scenario_budget");
 
     private String value;
 
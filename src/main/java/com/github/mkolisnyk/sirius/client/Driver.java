@@ -14,6 +14,9 @@ import org.openqa.selenium.ie.InternetExplorerDriver;
 import org.openqa.selenium.opera.OperaDriver;
 import org.openqa.selenium.safari.SafariDriver;
 
+import com.github.mkolisnyk.sirius.client.ui.FrameTracker;
+import com.github.mkolisnyk.sirius.client.ui.PageCache;
+
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
 
@@ -56,12 +59,19 @@ public final class Driver {
     }
 
     /**
-     * Puts specified WebDriver instance into internal storage.
+     * Puts specified WebDriver instance into internal storage. All pages cached
+     * for the current thread are dropped as well as frames tracked for the WebDriver instance
+     * which was used by the current thread before.
      * @param driver the WebDriver instance to store.
      */
     public static void init(WebDriver driver) {
         String threadName = getThreadName();
-        driverThreadMap.put(threadName, driver);
+        WebDriver previous = driverThreadMap.put(threadName, driver);
+        PageCache.invalidate();
+        if (previous != null) {
+            FrameTracker.invalidate(previous);
+        }
+        FrameTracker.invalidate(driver);
     }
 
     /**
@@ -0,0 +1,83 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Index of page class fields by their logical names defined via {@link Alias} annotation.
+ * Only fields representing controls or nested pages are indexed. The index is built once
+ * per page class and it is used by {@link Page#field(String, Class)} and
+ * {@link Page#section(String, Class)} methods instead of scanning all class fields
+ * on each call.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+final class AliasIndex {
+    private static final ClassValue<AliasIndex> INDEXES = new ClassValue<AliasIndex>() {
+        @Override
+        protected AliasIndex computeValue(Class<?> type) {
+            return new AliasIndex(type);
+        }
+    };
+
+    private final Map<String, Field[]> fields;
+
+    private AliasIndex(Class<?> pageClass) {
+        Map<String, List<Field>> result = new HashMap<String, List<Field>>();
+        for (Field field : pageClass.getFields()) {
+            if (!Control.class.isAssignableFrom(field.getType())
+                    && !Page.class.isAssignableFrom(field.getType())) {
+                continue;
+            }
+            Alias alias = field.getAnnotation(Alias.class);
+            if (alias == null) {
+                continue;
+            }
+            List<Field> named = result.get(alias.value());
+            if (named == null) {
+                named = new ArrayList<Field>();
+                result.put(alias.value(), named);
+            }
+            named.add(field);
+        }
+        this.fields = new HashMap<String, Field[]>();
+        for (Map.Entry<String, List<Field>> entry : result.entrySet()) {
+            this.fields.put(entry.getKey(), entry.getValue().toArray(new Field[entry.getValue().size()]));
+        }
+    }
+
+    /**
+     * Gets the alias index for the page class specified.
+     * @param pageClass the page class to get index for.
+     * @return the alias index.
+     */
+    static AliasIndex of(Class<?> pageClass) {
+        return INDEXES.get(pageClass);
+    }
+
+    /**
+     * Looks for the field with the logical name and type specified. If several fields
+     * match, the first one in {@link Class#getFields()} order is returned.
+     * @param name the logical name of the field.
+     * @param type the expected field type.
+     * @return the field found or null if there is no matching field.
+     */
+    Field find(String name, Class<?> type) {
+        Field[] named = fields.get(name);
+        if (named == null) {
+            return null;
+        }
+        for (Field field : named) {
+            if (type.isAssignableFrom(field.getType())) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Cache of factories creating controls and pages. Each factory is built once per class
+ * via {@link LambdaMetafactory}, so that creating new instance costs the same as direct
+ * constructor call and neither constructor lookup nor reflective invocation is performed.
+ * If the factory cannot be generated for some class (e.g. the class isn't accessible or it is loaded
+ * by the class loader which isn't visible from this library) the reflective constructor is cached
+ * and used instead.
+ * </p>
+ * <p>
+ * Sample use:
+ * <pre>
+ * Edit edit = Constructors.control(Edit.class).apply(page, By.id("login"));
+ * HomePage home = Constructors.page(HomePage.class).apply(driver);
+ * </pre>
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class Constructors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType BI_FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+    private static final ClassValue<BiFunction<Page, By, ?>> CONTROLS = new ClassValue<BiFunction<Page, By, ?>>() {
+        @Override
+        protected BiFunction<Page, By, ?> computeValue(Class<?> type) {
+            return (BiFunction<Page, By, ?>) create(BiFunction.class, BI_FUNCTION_TYPE, type, Page.class, By.class);
+        }
+    };
+    private static final ClassValue<Function<WebDriver, ?>> PAGES = new ClassValue<Function<WebDriver, ?>>() {
+        @Override
+        protected Function<WebDriver, ?> computeValue(Class<?> type) {
+            return (Function<WebDriver, ?>) create(Function.class, FUNCTION_TYPE, type, WebDriver.class);
+        }
+    };
+    private static final ClassValue<BiFunction<Object, WebDriver, ?>> INNER_PAGES
+        = new ClassValue<BiFunction<Object, WebDriver, ?>>() {
+            @Override
+            protected BiFunction<Object, WebDriver, ?> computeValue(Class<?> type) {
+                if (type.getDeclaringClass() == null) {
+                    return null;
+                }
+                return (BiFunction<Object, WebDriver, ?>) create(BiFunction.class, BI_FUNCTION_TYPE, type,
+                        type.getDeclaringClass(), WebDriver.class);
+            }
+        };
+
+    private Constructors() {
+    }
+
+    private static Object create(Class<?> functionType, MethodType erasedType,
+            Class<?> type, Class<?>... parameters) {
+        Constructor<?> constructor = null;
+        try {
+            constructor = type.getConstructor(parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        if (!isVisible(type)) {
+            return reflective(functionType, constructor);
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                    MethodType.methodType(functionType), erasedType, handle, handle.type());
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            return reflective(functionType, constructor);
+        }
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, Constructors.class.getClassLoader()).equals(type);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object... arguments) {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object reflective(Class<?> functionType, final Constructor<?> constructor) {
+        if (functionType.equals(Function.class)) {
+            return (Function<Object, Object>) argument -> newInstance(constructor, argument);
+        }
+        return (BiFunction<Object, Object, Object>) (first, second) -> newInstance(constructor, first, second);
+    }
+
+    /**
+     * Gets the factory creating controls of the specified class. The control class should have
+     * public constructor accepting {@link Page} and {@link By} parameters.
+     * @param <T> the control class.
+     * @param type the control class.
+     * @return the factory creating new control instances.
+     * @throws NoSuchMethodException the control class doesn't have required constructor.
+     */
+    public static <T extends Control> BiFunction<Page, By, T> control(Class<T> type) throws NoSuchMethodException {
+        BiFunction<Page, By, T> factory = (BiFunction<Page, By, T>) CONTROLS.get(type);
+        if (factory == null) {
+            throw new NoSuchMethodException(type.getName() + ".<init>(Page, By)");
+        }
+        return factory;
+    }
+
+    /**
+     * Gets the factory creating pages of the specified class. The page class should have
+     * public constructor accepting {@link WebDriver} parameter.
+     * @param <T> the page class.
+     * @param type the page class.
+     * @return the factory creating new page instances.
+     * @throws NoSuchMethodException the page class doesn't have required constructor.
+     */
+    public static <T extends Page> Function<WebDriver, T> page(Class<T> type) throws NoSuchMethodException {
+        Function<WebDriver, T> factory = (Function<WebDriver, T>) PAGES.get(type);
+        if (factory == null) {
+            throw new NoSuchMethodException(type.getName() + ".<init>(WebDriver)");
+        }
+        return factory;
+    }
+
+    /**
+     * Gets the factory creating pages of the specified inner (non-static nested) class.
+     * The first factory parameter is the instance of the enclosing class.
+     * @param <T> the page class.
+     * @param type the page class.
+     * @return the factory creating new page instances.
+     * @throws NoSuchMethodException the page class doesn't have required constructor.
+     */
+    public static <T extends Page> BiFunction<Object, WebDriver, T> innerPage(Class<T> type)
+            throws NoSuchMethodException {
+        BiFunction<Object, WebDriver, T> factory = (BiFunction<Object, WebDriver, T>) INNER_PAGES.get(type);
+        if (factory == null) {
+            throw new NoSuchMethodException(type.getName() + ".<init>(" + type.getDeclaringClass() + ", WebDriver)");
+        }
+        return factory;
+    }
+}
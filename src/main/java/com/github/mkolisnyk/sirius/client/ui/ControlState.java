@@ -0,0 +1,112 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The state of single control captured as a part of {@link PageSnapshot}. It contains
+ * the values which are normally retrieved by separate WebDriver calls: existence,
+ * visibility, enabled state, text and value.
+ * </p>
+ * @author Mykola Kolisnyk
+ * @see PageSnapshot
+ */
+public final class ControlState {
+    /**
+     * The state of the control which wasn't found on the page.
+     */
+    public static final ControlState MISSING = new ControlState(false, false, false, "", null);
+    private static final int EXISTS = 0;
+    private static final int VISIBLE = 1;
+    private static final int ENABLED = 2;
+    private static final int TEXT = 3;
+    private static final int VALUE = 4;
+
+    private final boolean exists;
+    private final boolean visible;
+    private final boolean enabled;
+    private final String text;
+    private final String value;
+
+    /**
+     * Creates control state with values specified.
+     * @param existsValue the flag identifying whether element exists.
+     * @param visibleValue the flag identifying whether element is visible.
+     * @param enabledValue the flag identifying whether element is enabled.
+     * @param textValue element text.
+     * @param valueValue element value.
+     */
+    public ControlState(boolean existsValue, boolean visibleValue, boolean enabledValue,
+            String textValue, String valueValue) {
+        this.exists = existsValue;
+        this.visible = visibleValue;
+        this.enabled = enabledValue;
+        this.text = textValue;
+        this.value = valueValue;
+    }
+
+    /**
+     * Creates control state from the raw values returned by the snapshot script.
+     * @param raw the list of values in the order: exists, visible, enabled, text, value.
+     * @return the control state.
+     */
+    static ControlState fromList(List<?> raw) {
+        if (raw == null || raw.size() <= VALUE || !Boolean.TRUE.equals(raw.get(EXISTS))) {
+            return MISSING;
+        }
+        return new ControlState(true,
+                Boolean.TRUE.equals(raw.get(VISIBLE)),
+                Boolean.TRUE.equals(raw.get(ENABLED)),
+                raw.get(TEXT) == null ? "" : raw.get(TEXT).toString(),
+                raw.get(VALUE) == null ? null : raw.get(VALUE).toString());
+    }
+
+    /**
+     * Identifies whether element exists on the page.
+     * @return true - element exists, false - otherwise.
+     */
+    public boolean exists() {
+        return exists;
+    }
+    /**
+     * Identifies whether element is visible.
+     * @return true - element is visible, false - otherwise.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+    /**
+     * Identifies whether element is enabled.
+     * @return true - element is enabled, false - otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    /**
+     * Identifies whether element is visible and enabled, so it can be clicked.
+     * @return true - element is clickable, false - otherwise.
+     */
+    public boolean isClickable() {
+        return exists && visible && enabled;
+    }
+    /**
+     * Gets element text.
+     * @return element text or empty string if element doesn't exist.
+     */
+    public String getText() {
+        return text;
+    }
+    /**
+     * Gets element value.
+     * @return element value or null if element doesn't exist or has no value.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("exists=%s, visible=%s, enabled=%s, text='%s', value='%s'",
+                exists, visible, enabled, text, value);
+    }
+}
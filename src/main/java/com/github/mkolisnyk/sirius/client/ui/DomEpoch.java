@@ -0,0 +1,95 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * <p>
+ * Tracks changes of the page content. On first access the <b>MutationObserver</b> is injected
+ * into the current document and it increments the counter on each DOM mutation. The counter
+ * together with the unique document identifier forms the epoch key: while the key stays the same
+ * the DOM wasn't changed, so any previously read value is still actual.
+ * </p>
+ * <p>
+ * Some changes aren't visible to the observer (e.g. the value typed into the input field
+ * changes element property rather than attribute). For this reason all actions performed via
+ * {@link com.github.mkolisnyk.sirius.client.ui.predicates.Actions} call {@link DomEpoch#invalidate()}
+ * which makes all previously returned keys obsolete.
+ * </p>
+ * <p>
+ * Epochs are available for web platforms only (see {@link PageSnapshot#isSupported(WebDriver)}).
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class DomEpoch {
+    /**
+     * Script fragment which injects the observer (if it isn't injected yet) and declares
+     * the <b>epoch</b> variable containing the key of the current DOM state.
+     */
+    static final String OBSERVER_SCRIPT = "var w = window;"
+            + "if (!w.__siriusEpoch) {"
+            + "  w.__siriusEpoch = {id: Math.random().toString(36).substring(2), count: 0};"
+            + "  new MutationObserver(function() { w.__siriusEpoch.count++; }).observe(document,"
+            + "    {attributes: true, childList: true, characterData: true, subtree: true});"
+            + "}"
+            + "var epoch = w.__siriusEpoch.id + ':' + w.__siriusEpoch.count;";
+    private static final String SCRIPT = OBSERVER_SCRIPT + "return epoch;";
+    private static final String DOCUMENT_SCRIPT = OBSERVER_SCRIPT + "return w.__siriusEpoch.id;";
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private DomEpoch() {
+    }
+
+    /**
+     * Gets the key of the current DOM state.
+     * @param driver the WebDriver instance to get DOM state for.
+     * @return the epoch key or null if the epoch isn't available for the driver.
+     */
+    public static String key(WebDriver driver) {
+        if (!PageSnapshot.isSupported(driver)) {
+            return null;
+        }
+        long generation = GENERATION.get();
+        Object epoch = ((JavascriptExecutor) driver).executeScript(SCRIPT);
+        if (epoch == null) {
+            return null;
+        }
+        return generation + ":" + epoch;
+    }
+
+    /**
+     * Gets the unique identifier of the current document. It changes each time new document is loaded
+     * (e.g. after navigation) or another window/frame becomes current, while DOM mutations don't affect it.
+     * @param driver the WebDriver instance to get document identifier for.
+     * @return the document identifier or null if it isn't available for the driver.
+     */
+    public static String document(WebDriver driver) {
+        if (!PageSnapshot.isSupported(driver)) {
+            return null;
+        }
+        Object id = ((JavascriptExecutor) driver).executeScript(DOCUMENT_SCRIPT);
+        if (id == null) {
+            return null;
+        }
+        return id.toString();
+    }
+
+    /**
+     * Gets the number of invalidations performed so far. It is the part of each epoch key.
+     * Unlike {@link DomEpoch#key(WebDriver)} it doesn't need any WebDriver call, so it can be used
+     * to detect that some action was performed since some element was located.
+     * @return current generation.
+     */
+    public static long generation() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Makes all previously returned epoch keys obsolete.
+     */
+    public static void invalidate() {
+        GENERATION.incrementAndGet();
+    }
+}
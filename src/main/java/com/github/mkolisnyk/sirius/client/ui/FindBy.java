@@ -30,6 +30,15 @@ public @interface FindBy {
      */
     String locator();
 
+    /**
+     * Additional candidate locators which are tried together with the {@link FindBy#locator()}
+     * within the same search loop. It is used when the same control may be represented differently
+     * (e.g. there are several versions of the same page). The first locator matching the element
+     * wins and it is tried first on further searches (see {@link LocatorRace}).
+     * @return the list of alternative locators.
+     */
+    String[] alternatives() default {};
+
     /**
      * The field responsible for platform definition. It can be used to filter the the record which
      * is applicable for current platform.
@@ -0,0 +1,217 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.github.mkolisnyk.sirius.client.Driver;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Tracks the frame the WebDriver instance is currently switched to. The frame is represented
+ * as the path of frame controls starting from the top-level document. Each page created for
+ * some frame via {@link Control#switchTo(Class)} remembers its frame path, so that switching
+ * to any frame declared on that page doesn't need to walk the whole path again:
+ * <ul>
+ * <li> if the driver is already in the target frame no switch is performed at all
+ * <li> if the target frame is nested into the current one only the remaining frames are entered
+ * <li> if the target frame is one of the parents of the current one the driver goes up via <b>parentFrame</b>
+ * <li> otherwise the driver switches to default content and enters all frames of the path
+ * </ul>
+ * Pages which weren't created via {@link Control#switchTo(Class)} are treated as top-level document pages.
+ * Frame elements are cached by their controls (see {@link Control#withElement(java.util.function.Function)}),
+ * the frame which wasn't located yet is waited for during standard timeout. Page objects are cached per
+ * frame control and page class while they are in use.
+ * </p>
+ * <p>
+ * Before the tracked frame is relied on, the driver is checked to be still inside some frame, as
+ * navigation or reload of the top-level document returns the driver to the top-level document. The tracked
+ * state is dropped when new WebDriver instance is set via {@link Driver#init(WebDriver)} or when window
+ * is switched via {@link Page#switchToLast()}. {@link Page#switchToDefault()} resets the current frame path
+ * while keeping cached frames and pages. If frames are switched directly via WebDriver API the driver should
+ * be returned to default content and {@link FrameTracker#invalidate(WebDriver)} method should be called.
+ * </p>
+ * <p>
+ * The tracked state refers to controls and pages only weakly, so it doesn't keep the WebDriver instance
+ * from being garbage collected.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class FrameTracker {
+    private static final String IN_FRAME_SCRIPT = "return window.self !== window.top;";
+    private static final Map<WebDriver, State> STATES = new WeakHashMap<WebDriver, State>();
+
+    private FrameTracker() {
+    }
+
+    /**
+     * Frame context of the specific WebDriver instance.
+     */
+    private static final class State {
+        private List<Reference<Control>> current = Collections.emptyList();
+        private final Map<Control, Map<Class<?>, Reference<Page>>> pages
+            = new WeakHashMap<Control, Map<Class<?>, Reference<Page>>>();
+    }
+
+    private static State state(WebDriver driver) {
+        synchronized (STATES) {
+            State state = STATES.get(driver);
+            if (state == null) {
+                state = new State();
+                STATES.put(driver, state);
+            }
+            return state;
+        }
+    }
+
+    private static List<Reference<Control>> references(List<Control> path) {
+        List<Reference<Control>> result = new ArrayList<Reference<Control>>();
+        for (Control control : path) {
+            result.add(new WeakReference<Control>(control));
+        }
+        return result;
+    }
+
+    private static List<Control> resolve(List<Reference<Control>> path) {
+        List<Control> result = new ArrayList<Control>();
+        for (Reference<Control> reference : path) {
+            Control control = reference.get();
+            if (control == null) {
+                return null;
+            }
+            result.add(control);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the frame path the driver is currently switched to.
+     * @param driver the WebDriver instance.
+     * @param state the tracked state of the driver.
+     * @return the current frame path or null if it is unknown.
+     */
+    private static List<Control> current(WebDriver driver, State state) {
+        List<Control> current = resolve(state.current);
+        if (current == null || current.isEmpty() || !(driver instanceof JavascriptExecutor)) {
+            return current;
+        }
+        try {
+            if (Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(IN_FRAME_SCRIPT))) {
+                return current;
+            }
+            return Collections.emptyList();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private static boolean startsWith(List<Control> path, List<Control> prefix) {
+        if (prefix.size() > path.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (path.get(i) != prefix.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void enterFrames(WebDriver driver, List<Control> frames) {
+        for (final Control frame : frames) {
+            try {
+                frame.withElement(element -> driver.switchTo().frame(element));
+            } catch (NoSuchElementException e) {
+                frame.withElement(Page.getTimeout(), element -> driver.switchTo().frame(element));
+            }
+        }
+    }
+
+    /**
+     * Switches to the frame represented by the control and returns the page object for this frame.
+     * @param <T> the page class to switch to.
+     * @param frame the control representing the frame.
+     * @param pageClass the page class to switch to.
+     * @return initialised page which corresponds to the selected frame.
+     * @throws Exception any exception during page initialisation.
+     */
+    public static <T extends Page> T enter(Control frame, Class<T> pageClass) throws Exception {
+        WebDriver driver = frame.getDriver();
+        State state = state(driver);
+        synchronized (state) {
+            List<Control> current = current(driver, state);
+            List<Control> target = new ArrayList<Control>();
+            List<Control> parentPath = frame.getParent().getFramePath();
+            if (parentPath != null) {
+                target.addAll(parentPath);
+            }
+            target.add(frame);
+            if (current == null) {
+                driver.switchTo().defaultContent();
+                enterFrames(driver, target);
+            } else if (target.size() == current.size() && startsWith(current, target)) {
+                target = current;
+            } else if (startsWith(target, current)) {
+                enterFrames(driver, target.subList(current.size(), target.size()));
+            } else if (startsWith(current, target)) {
+                for (int i = target.size(); i < current.size(); i++) {
+                    driver.switchTo().parentFrame();
+                }
+            } else {
+                driver.switchTo().defaultContent();
+                enterFrames(driver, target);
+            }
+            state.current = references(target);
+            Map<Class<?>, Reference<Page>> framePages = state.pages.get(frame);
+            if (framePages == null) {
+                framePages = new HashMap<Class<?>, Reference<Page>>();
+                state.pages.put(frame, framePages);
+            }
+            Reference<Page> reference = framePages.get(pageClass);
+            Page page = null;
+            if (reference != null) {
+                page = reference.get();
+            }
+            if (page == null) {
+                page = PageFactory.init(driver, pageClass);
+                page.setFramePath(target);
+                framePages.put(pageClass, new WeakReference<Page>(page));
+            }
+            return pageClass.cast(page);
+        }
+    }
+
+    /**
+     * Marks the driver as switched to the top-level document. Cached frames and pages are kept.
+     * @param driver the WebDriver instance which was switched to default content.
+     */
+    public static void reset(WebDriver driver) {
+        State state = state(driver);
+        synchronized (state) {
+            state.current = Collections.emptyList();
+        }
+    }
+
+    /**
+     * Drops all tracked data for the driver. After that the driver is expected to be switched
+     * to the top-level document, e.g. after switching to another window. It should also be called
+     * after switching to default content directly via WebDriver API.
+     * @param driver the WebDriver instance to drop data for.
+     */
+    public static void invalidate(WebDriver driver) {
+        synchronized (STATES) {
+            STATES.remove(driver);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Common interface for page factories generated at compile time by the
+ * <b>sirius-page-processor</b> annotation processor. Each generated factory
+ * creates the instance of one specific page class and initialises all it's
+ * controls and sections without using reflection.
+ * @author Mykola Kolisnyk
+ * @param <T> the page class produced by the factory.
+ * @see GeneratedPages
+ */
+public interface GeneratedPageFactory<T extends Page> {
+    /**
+     * Creates and initialises the page instance.
+     * @param driver the WebDriver instance to pass to new page object instance.
+     * @param parent the page containing the page to create (for nested pages) or null.
+     * @return initialised page class instance.
+     * @throws Exception any exception which appears during page initialisation.
+     */
+    T create(WebDriver driver, Page parent) throws Exception;
+}
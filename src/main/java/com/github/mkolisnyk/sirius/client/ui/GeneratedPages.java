@@ -0,0 +1,338 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Platform;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Global access point to the page metadata and factories generated at compile time
+ * by the <b>sirius-page-processor</b> annotation processor. The processor stores the list
+ * of generated factories in the {@value #INDEX_RESOURCE} resource. Each line of this
+ * resource has the following format:
+ * <pre>
+ * &lt;page class&gt;\t&lt;factory class&gt;\t&lt;alias&gt;\t&lt;member class flag&gt;
+ * </pre>
+ * If no such resource is available on the classpath, {@link PageFactory} and {@link PageRegistry}
+ * fall back to reflection.
+ * </p>
+ * <p>
+ * Additionally, this class contains helper methods which are called by generated code.
+ * </p>
+ * @author Mykola Kolisnyk
+ * @see GeneratedPageFactory
+ */
+public final class GeneratedPages {
+    /**
+     * The resource containing the index of generated page factories.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/sirius/pages.index";
+    private static final int PAGE_CLASS = 0;
+    private static final int FACTORY_CLASS = 1;
+    private static final int ALIAS = 2;
+    private static final int MEMBER = 3;
+    private static final int COLUMNS = 4;
+
+    private GeneratedPages() {
+    }
+
+    private static volatile Map<String, String[]> index;
+    private static ConcurrentHashMap<Class<?>, GeneratedPageFactory<?>> factories
+        = new ConcurrentHashMap<Class<?>, GeneratedPageFactory<?>>();
+
+    private static Map<String, String[]> load() {
+        Map<String, String[]> result = new HashMap<String, String[]>();
+        try {
+            Enumeration<URL> resources = GeneratedPages.class.getClassLoader().getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8));
+                try {
+                    String line = reader.readLine();
+                    while (line != null) {
+                        String[] entry = line.split("\t", -1);
+                        if (entry.length == COLUMNS && !result.containsKey(entry[PAGE_CLASS])) {
+                            result.put(entry[PAGE_CLASS], entry);
+                        }
+                        line = reader.readLine();
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Map<String, String[]> getIndex() {
+        if (index == null) {
+            synchronized (GeneratedPages.class) {
+                if (index == null) {
+                    index = load();
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Identifies whether any generated page metadata is available on the classpath.
+     * @return true - if generated metadata is available, false - otherwise.
+     */
+    public static boolean isAvailable() {
+        return !getIndex().isEmpty();
+    }
+
+    /**
+     * Gets generated factory for the page class specified.
+     * @param pageClass the page class to get factory for.
+     * @return generated factory instance or null if no factory was generated for the page class.
+     * @throws Exception any exception related to factory class loading.
+     */
+    public static GeneratedPageFactory<?> factoryFor(Class<?> pageClass) throws Exception {
+        GeneratedPageFactory<?> factory = factories.get(pageClass);
+        if (factory != null) {
+            return factory;
+        }
+        String[] entry = getIndex().get(pageClass.getName());
+        if (entry == null) {
+            return null;
+        }
+        factory = (GeneratedPageFactory<?>) Class.forName(entry[FACTORY_CLASS], true, pageClass.getClassLoader())
+                .getConstructor().newInstance();
+        factories.putIfAbsent(pageClass, factory);
+        return factory;
+    }
+
+    /**
+     * Identifies whether the page factory was generated for the page class.
+     * @param pageClass the page class to check.
+     * @return true - if the page class is listed in generated metadata, false - otherwise.
+     */
+    public static boolean isGenerated(Class<?> pageClass) {
+        return getIndex().containsKey(pageClass.getName());
+    }
+
+    private static boolean inPackage(String className, String pagesPackage) {
+        return pagesPackage.isEmpty() || className.startsWith(pagesPackage + ".");
+    }
+
+    /**
+     * Gets all non-nested generated page classes from the package specified which have
+     * logical name assigned via {@link Alias} annotation.
+     * @param pagesPackage the package to search page classes in.
+     * @return the map of page classes associated with their logical names.
+     * @throws ClassNotFoundException the page class listed in metadata isn't available.
+     */
+    public static Map<String, Class<? extends Page>> aliases(String pagesPackage) throws ClassNotFoundException {
+        Map<String, Class<? extends Page>> result = new HashMap<String, Class<? extends Page>>();
+        for (String[] entry : getIndex().values()) {
+            if (!inPackage(entry[PAGE_CLASS], pagesPackage)
+                    || Boolean.parseBoolean(entry[MEMBER])
+                    || entry[ALIAS].isEmpty()
+                    || result.containsKey(entry[ALIAS])) {
+                continue;
+            }
+            result.put(entry[ALIAS], Class.forName(entry[PAGE_CLASS]).asSubclass(Page.class));
+        }
+        return result;
+    }
+
+    /**
+     * Gets all generated page classes from the package specified including nested ones.
+     * @param pagesPackage the package to search page classes in.
+     * @return the set of page classes.
+     * @throws ClassNotFoundException the page class listed in metadata isn't available.
+     */
+    public static Set<Class<? extends Page>> pages(String pagesPackage) throws ClassNotFoundException {
+        Set<Class<? extends Page>> result = new HashSet<Class<? extends Page>>();
+        for (String[] entry : getIndex().values()) {
+            if (inPackage(entry[PAGE_CLASS], pagesPackage)) {
+                result.add(Class.forName(entry[PAGE_CLASS]).asSubclass(Page.class));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops loaded metadata so that it is re-read on next access.
+     */
+    public static void reset() {
+        index = null;
+        factories = new ConcurrentHashMap<Class<?>, GeneratedPageFactory<?>>();
+    }
+
+    /**
+     * Platform-specific control definition produced from the {@link FindBy} annotation.
+     * It is used by generated code only.
+     */
+    public static final class Definition {
+        private final Platform platform;
+        private final By locator;
+        private final String itemLocator;
+        private final String scrollTo;
+        private final ScrollTo scrollDirection;
+        private final String format;
+        private final boolean excludeFromSearch;
+        private final By[] alternatives;
+
+        /**
+         * Creates control definition.
+         * @param platformValue the platform definition is applicable for.
+         * @param locatorValue parsed locator.
+         * @param itemLocatorValue item locator.
+         * @param scrollToValue the text to scroll to.
+         * @param scrollDirectionValue the direction of scrolling.
+         * @param formatValue format string.
+         * @param excludeFromSearchValue exclude from search flag.
+         */
+        public Definition(Platform platformValue, By locatorValue, String itemLocatorValue,
+                String scrollToValue, ScrollTo scrollDirectionValue, String formatValue,
+                boolean excludeFromSearchValue) {
+            this.platform = platformValue;
+            this.locator = locatorValue;
+            this.itemLocator = itemLocatorValue;
+            this.scrollTo = scrollToValue;
+            this.scrollDirection = scrollDirectionValue;
+            this.format = formatValue;
+            this.excludeFromSearch = excludeFromSearchValue;
+            this.alternatives = new By[] {};
+        }
+
+        /**
+         * Creates control definition with alternative locators.
+         * @param platformValue the platform definition is applicable for.
+         * @param locatorValue parsed locator.
+         * @param alternativesValue parsed alternative locators.
+         * @param itemLocatorValue item locator.
+         * @param scrollToValue the text to scroll to.
+         * @param scrollDirectionValue the direction of scrolling.
+         * @param formatValue format string.
+         * @param excludeFromSearchValue exclude from search flag.
+         */
+        public Definition(Platform platformValue, By locatorValue, By[] alternativesValue, String itemLocatorValue,
+                String scrollToValue, ScrollTo scrollDirectionValue, String formatValue,
+                boolean excludeFromSearchValue) {
+            this.platform = platformValue;
+            this.locator = locatorValue;
+            this.itemLocator = itemLocatorValue;
+            this.scrollTo = scrollToValue;
+            this.scrollDirection = scrollDirectionValue;
+            this.format = formatValue;
+            this.excludeFromSearch = excludeFromSearchValue;
+            this.alternatives = alternativesValue;
+        }
+    }
+
+    private static Definition getDefinitionForPlatform(Definition[] definitions, Platform platform) {
+        for (Definition definition : definitions) {
+            if (definition.platform.equals(platform)) {
+                return definition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates and initialises control instance for the current platform. It is used by generated code only.
+     * @param <T> the control class.
+     * @param page the page the control belongs to.
+     * @param platform current platform.
+     * @param constructor the control constructor reference.
+     * @param definitions all platform-specific definitions of the control.
+     * @param items all sub-items declared for the control.
+     * @return initialised control or null if there is no definition for current platform.
+     */
+    public static <T extends Control> T control(Page page, Platform platform, BiFunction<Page, By, T> constructor,
+            Definition[] definitions, SubItem[] items) {
+        Definition definition = getDefinitionForPlatform(definitions, platform);
+        if (definition == null) {
+            definition = getDefinitionForPlatform(definitions, Platform.ANY);
+        }
+        if (definition == null) {
+            return null;
+        }
+        T control = constructor.apply(page, definition.locator);
+        control.setAlternatives(definition.alternatives);
+        control.setItemLocatorText(definition.itemLocator);
+        SubItem[] platformItems = new SubItem[] {};
+        for (SubItem item : items) {
+            if (item.platform().equals(platform) || item.platform().equals(Platform.ANY)) {
+                platformItems = ArrayUtils.add(platformItems, item);
+            }
+        }
+        control.addSubItems(platformItems);
+        control.setScrollTo(definition.scrollTo);
+        control.setScrollDirection(definition.scrollDirection);
+        control.setFormat(definition.format);
+        control.setExcludeFromSearch(definition.excludeFromSearch);
+        return control;
+    }
+
+    /**
+     * Creates nested page instance. It is used by generated code only.
+     * @param <T> the nested page class.
+     * @param driver the WebDriver instance to pass to new page object instance.
+     * @param parent the page containing nested page.
+     * @param pageClass the nested page class.
+     * @return initialised nested page instance.
+     * @throws Exception any exception which appears during page initialisation.
+     */
+    public static <T extends Page> T section(WebDriver driver, Page parent, Class<T> pageClass) throws Exception {
+        return PageFactory.init(driver, parent, pageClass);
+    }
+
+    /**
+     * Creates {@link SubItem} instance. It is used by generated code only.
+     * @param name the sub-item name.
+     * @param locator sub-item locator.
+     * @param platform target platform.
+     * @param controlType sub-item control type.
+     * @return {@link SubItem} instance with values specified.
+     */
+    public static SubItem subItem(final String name, final String locator, final Platform platform,
+            final Class<? extends Control> controlType) {
+        return new SubItem() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return SubItem.class;
+            }
+            @Override
+            public String name() {
+                return name;
+            }
+            @Override
+            public String locator() {
+                return locator;
+            }
+            @Override
+            public Platform platform() {
+                return platform;
+            }
+            @Override
+            public Class<? extends Control> controlType() {
+                return controlType;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * <p>
+ * Keeps track of the implicit wait timeout set for each WebDriver instance. WebDriver API doesn't
+ * provide a way to read the implicit wait value, so the implicit wait should be set via
+ * {@link ImplicitWait#set(WebDriver, long, TimeUnit)} to let the library know about it. The library
+ * never sets the implicit wait on its own, so this is opt-in: the implicit wait set directly via
+ * <b>driver.manage().timeouts()</b> isn't known to the library and isn't switched off.
+ * <pre>
+ * WebDriver driver = Driver.init("", Configuration.platform(), capabilities);
+ * ImplicitWait.set(driver, 5, TimeUnit.SECONDS);
+ * </pre>
+ * </p>
+ * <p>
+ * With non-zero implicit wait each search for absent element takes the whole implicit wait timeout.
+ * Checks which expect the element to be absent (e.g.
+ * {@link com.github.mkolisnyk.sirius.client.ui.predicates.States#disappears(int)}) are performed via
+ * {@link ImplicitWait#paused(WebDriver, Supplier)}, so that they take single round trip.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class ImplicitWait {
+    private static final Map<WebDriver, Long> VALUES = new WeakHashMap<WebDriver, Long>();
+    private static final Map<WebDriver, Boolean> PAUSED = new WeakHashMap<WebDriver, Boolean>();
+
+    private ImplicitWait() {
+    }
+
+    /**
+     * Sets the implicit wait timeout for the driver and remembers the value.
+     * @param driver the WebDriver instance to set implicit wait for.
+     * @param time the timeout value.
+     * @param unit the timeout unit.
+     */
+    public static void set(WebDriver driver, long time, TimeUnit unit) {
+        driver.manage().timeouts().implicitlyWait(time, unit);
+        synchronized (VALUES) {
+            VALUES.put(driver, unit.toMillis(time));
+        }
+    }
+
+    /**
+     * Gets the implicit wait timeout set for the driver.
+     * @param driver the WebDriver instance to get implicit wait for.
+     * @return the implicit wait timeout in milliseconds or 0 if it wasn't set via
+     *      {@link ImplicitWait#set(WebDriver, long, TimeUnit)}.
+     */
+    public static long get(WebDriver driver) {
+        synchronized (VALUES) {
+            Long value = VALUES.get(driver);
+            if (value == null) {
+                return 0L;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Performs the action with implicit wait switched off. The implicit wait is restored
+     * after the action is completed. Nested calls don't switch implicit wait again.
+     * @param <T> the action result type.
+     * @param driver the WebDriver instance to perform action with.
+     * @param action the action to perform.
+     * @return the action result.
+     */
+    public static <T> T paused(WebDriver driver, Supplier<T> action) {
+        long value = get(driver);
+        synchronized (PAUSED) {
+            if (value <= 0L || PAUSED.containsKey(driver)) {
+                value = 0L;
+            } else {
+                PAUSED.put(driver, true);
+            }
+        }
+        if (value <= 0L) {
+            return action.get();
+        }
+        driver.manage().timeouts().implicitlyWait(0L, TimeUnit.MILLISECONDS);
+        try {
+            return action.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(value, TimeUnit.MILLISECONDS);
+            synchronized (PAUSED) {
+                PAUSED.remove(driver);
+            }
+        }
+    }
+}
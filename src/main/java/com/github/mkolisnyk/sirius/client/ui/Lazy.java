@@ -0,0 +1,44 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Annotation which is supposed to be applied to page classes. It switches {@link PageFactory}
+ * into lazy mode for the page: controls and nested pages aren't created during
+ * {@link PageFactory#init(org.openqa.selenium.WebDriver, Class)} call, they are created
+ * on first access via {@link Page#field(String)}, {@link Page#section(String)},
+ * {@link Page#fieldValue(java.lang.reflect.Field)} or while checking
+ * {@link com.github.mkolisnyk.sirius.client.ui.predicates.States#current()} state.
+ * Nested pages of the lazy page are lazy as well.
+ * </p>
+ * <p>
+ * It is mainly useful for large pages with many controls and nested pages where
+ * only few of them are used by each specific step.
+ * </p>
+ * <p>
+ * Sample use:
+ * <pre>
+ * &#64;Lazy
+ * &#64;Alias("Search")
+ * public class SearchPage extends Page {
+ *     &#64;FindBy(locator = "id=q")
+ *     &#64;Alias("Query")
+ *     public Edit editQuery;
+ *     ...
+ * }
+ * </pre>
+ * <b>NOTE:</b> fields of lazy pages stay <b>null</b> until they are requested via the methods listed above,
+ * so direct field access should be used only after the field was materialised.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+@Inherited
+@Target({ ElementType.TYPE })
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface Lazy {
+}
@@ -0,0 +1,139 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Search engine for controls having multiple candidate locators (see {@link FindBy#alternatives()}).
+ * All candidates are tried within single pass via <b>findElements</b> call which doesn't fail if
+ * nothing is found, so the waiting loop polls all candidates at once instead of waiting
+ * for each candidate separately during the whole timeout.
+ * </p>
+ * <p>
+ * The statistics of matches is kept per WebDriver instance (so it is actual for the current session only)
+ * and per set of candidates. The candidate which matched last time is tried first, other candidates are
+ * ordered by the number of matches and then by declaration order.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class LocatorRace {
+    private static final Map<WebDriver, Map<List<By>, Stats>> STATS
+        = new WeakHashMap<WebDriver, Map<List<By>, Stats>>();
+
+    private LocatorRace() {
+    }
+
+    /**
+     * Match statistics for the specific set of candidates.
+     */
+    private static final class Stats {
+        private final int[] hits;
+        private int last = -1;
+
+        private Stats(int size) {
+            hits = new int[size];
+        }
+    }
+
+    private static List<By> candidates(Control control) {
+        By[] alternatives = control.getAlternatives();
+        List<By> result = new ArrayList<By>(alternatives.length + 1);
+        result.add(control.getDeclaredLocator());
+        result.addAll(Arrays.asList(alternatives));
+        return result;
+    }
+
+    private static Stats stats(WebDriver driver, List<By> candidates) {
+        synchronized (STATS) {
+            Map<List<By>, Stats> driverStats = STATS.get(driver);
+            if (driverStats == null) {
+                driverStats = new HashMap<List<By>, Stats>();
+                STATS.put(driver, driverStats);
+            }
+            Stats stats = driverStats.get(candidates);
+            if (stats == null) {
+                stats = new Stats(candidates.size());
+                driverStats.put(candidates, stats);
+            }
+            return stats;
+        }
+    }
+
+    private static Integer[] order(Stats stats) {
+        Integer[] order = new Integer[stats.hits.length];
+        synchronized (stats) {
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            final int[] hits = stats.hits.clone();
+            final int last = stats.last;
+            Arrays.sort(order, (first, second) -> {
+                if (first == last || second == last) {
+                    return first == last ? -1 : 1;
+                }
+                return Integer.compare(hits[second], hits[first]);
+            });
+        }
+        return order;
+    }
+
+    /**
+     * Gets the locator which matched the element of the control last time.
+     * @param control the control to get locator for.
+     * @return the last matched locator or the declared control locator if none of candidates matched yet.
+     */
+    public static By preferred(Control control) {
+        List<By> candidates = candidates(control);
+        Stats stats = stats(control.getDriver(), candidates);
+        synchronized (stats) {
+            if (stats.last < 0) {
+                return candidates.get(0);
+            }
+            return candidates.get(stats.last);
+        }
+    }
+
+    /**
+     * Tries all candidate locators of the control once and returns the element found by the first
+     * matching candidate. The statistics is updated with the match.
+     * @param control the control to find element for.
+     * @return the element found or null if none of candidates matches any element.
+     */
+    public static WebElement find(Control control) {
+        WebDriver driver = control.getDriver();
+        List<By> candidates = candidates(control);
+        Stats stats = stats(driver, candidates);
+        for (int index : order(stats)) {
+            List<WebElement> elements = driver.findElements(candidates.get(index));
+            if (!elements.isEmpty()) {
+                synchronized (stats) {
+                    stats.hits[index]++;
+                    stats.last = index;
+                }
+                return elements.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops the statistics collected for the driver.
+     * @param driver the WebDriver instance to drop statistics for.
+     */
+    public static void reset(WebDriver driver) {
+        synchronized (STATS) {
+            STATS.remove(driver);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+
+/**
+ * <p>
+ * Parser of the string locators used by {@link FindBy} and {@link SubItem} annotations.
+ * The locator string may start with one of the following prefixes:
+ * <ul>
+ * <li> <b>xpath=</b> or <b>/</b> - the locator is XPath expression
+ * <li> <b>id=</b> - the locator is element identifier
+ * <li> <b>name=</b> - the locator is element name
+ * <li> <b>css=</b> - the locator is CSS selector
+ * <li> <b>class=</b> - the locator is element class name
+ * <li> <b>link=</b> - the locator is link text
+ * </ul>
+ * Any other string is treated as element identifier.
+ * </p>
+ * <p>
+ * The prefix is recognised in a single pass without regular expressions. Parsed {@link By}
+ * instances as well as their text representations are interned, so identical locators
+ * share the same objects across all page instances.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class Locators {
+    private static final String XPATH = "xpath";
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String CSS = "css";
+    private static final String CLASS = "class";
+    private static final String LINK = "link";
+    private static final String BY_PREFIX = "By.";
+    private static final String BY_SEPARATOR = ": ";
+
+    private Locators() {
+    }
+
+    private static ConcurrentHashMap<String, By> locators = new ConcurrentHashMap<String, By>();
+    private static ConcurrentHashMap<String, String> texts = new ConcurrentHashMap<String, String>();
+
+    private static By create(String input) {
+        if (input.startsWith("/")) {
+            return By.xpath(input);
+        }
+        int index = input.indexOf('=');
+        if (index < 0) {
+            return By.id(input);
+        }
+        String value = input.substring(index + 1);
+        switch (input.substring(0, index)) {
+            case XPATH:
+                return By.xpath(value);
+            case ID:
+                return By.id(value);
+            case NAME:
+                return By.name(value);
+            case CSS:
+                return By.cssSelector(value);
+            case CLASS:
+                return By.className(value);
+            case LINK:
+                return By.linkText(value);
+            default:
+                return By.id(input);
+        }
+    }
+
+    private static String strip(By locator) {
+        String value = locator.toString();
+        int index = value.indexOf(BY_SEPARATOR);
+        if (index > BY_PREFIX.length() && value.startsWith(BY_PREFIX)) {
+            for (int i = BY_PREFIX.length(); i < index; i++) {
+                if (Character.isWhitespace(value.charAt(i))) {
+                    return value;
+                }
+            }
+            return value.substring(index + BY_SEPARATOR.length());
+        }
+        return value;
+    }
+
+    /**
+     * Converts string locator into the {@link By} instance. The same instance is returned
+     * for all identical locator strings.
+     * @param input the string locator.
+     * @return the locator instance.
+     */
+    public static By parse(String input) {
+        By locator = locators.get(input);
+        if (locator == null) {
+            locator = create(input);
+            By existing = locators.putIfAbsent(input, locator);
+            if (existing != null) {
+                locator = existing;
+            } else {
+                String value = strip(locator);
+                texts.putIfAbsent(value, value);
+            }
+        }
+        return locator;
+    }
+
+    /**
+     * Gets the text representation of the locator, which is the locator value without
+     * the <b>By.&lt;type&gt;: </b> prefix. For locators produced by {@link #parse(String)}
+     * the same string instance is returned each time.
+     * @param locator the locator to get text representation for.
+     * @return the locator text.
+     */
+    public static String text(By locator) {
+        String value = strip(locator);
+        String interned = texts.get(value);
+        if (interned != null) {
+            return interned;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the locator strategy name which is the part of the text representation between
+     * the <b>By.</b> prefix and the colon, e.g. <b>id</b>, <b>xpath</b> or <b>cssSelector</b>.
+     * @param locator the locator to get strategy of.
+     * @return the strategy name or null if the locator text has no standard prefix.
+     */
+    public static String strategy(By locator) {
+        String value = locator.toString();
+        int index = value.indexOf(BY_SEPARATOR);
+        if (index > BY_PREFIX.length() && value.startsWith(BY_PREFIX)) {
+            String name = value.substring(BY_PREFIX.length(), index);
+            for (int i = 0; i < name.length(); i++) {
+                if (Character.isWhitespace(name.charAt(i))) {
+                    return null;
+                }
+            }
+            return name;
+        }
+        return null;
+    }
+
+    /**
+     * Removes all interned locators.
+     */
+    public static void reset() {
+        locators = new ConcurrentHashMap<String, By>();
+        texts = new ConcurrentHashMap<String, String>();
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.LongFunction;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Event-driven waiting for the control state. Instead of polling the state from the test side,
+ * the asynchronous script checks the state in the browser and subscribes the <b>MutationObserver</b>
+ * to the document, so the script completes as soon as the DOM is changed in the way the condition is met.
+ * As visibility and availability also depend on the layout and styles which may change without
+ * DOM mutations, the script re-checks the state every 50 ms as well.
+ * Long waits are split into slices (each slice is a single script call), so that the script never
+ * exceeds the script timeout of the driver. The driver timeouts aren't changed, the slices are sized
+ * by the <b>script_timeout</b> configuration option instead (see {@link Configuration#scriptTimeout(long)}).
+ * If the script timeout leaves less than {@value #MIN_SLICE} ms for a slice, the state is polled instead.
+ * </p>
+ * <p>
+ * Observer waits are enabled by the <b>event_waits</b> configuration option and they are applicable
+ * for the controls which can be captured by {@link PageSnapshot} (see {@link PageSnapshot#isSupported(Control)}).
+ * The text isn't checked by the observer as the browser-side text may differ from the one returned by
+ * <b>WebElement.getText()</b> in whitespace normalisation.
+ * If the driver reports that asynchronous scripts aren't supported, the driver is marked as unsupported.
+ * In all such cases as well as in case of any other script failure
+ * {@link ObserverWait#await(Control, Condition, long, LongFunction)} falls back to polling
+ * for the time which remains till the end of the timeout.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class ObserverWait {
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
+    private static final long SLICE = 20000L;
+    private static final long SCRIPT_TIMEOUT = 30000L;
+    private static final long SCRIPT_OVERHEAD = 2000L;
+    private static final long MIN_SLICE = 500L;
+    private static final String SCRIPT = "var done = arguments[arguments.length - 1];"
+            + "var locator = arguments[0], condition = arguments[1];"
+            + PageSnapshot.STATE_FUNCTION
+            + "function check() {"
+            + "  var s = state(locator);"
+            + "  switch (condition) {"
+            + "    case 'exists': return s[0];"
+            + "    case 'disappears': return !s[0];"
+            + "    case 'visible': return s[1];"
+            + "    case 'invisible': return !s[1];"
+            + "    case 'enabled': return s[1] && s[2];"
+            + "    case 'disabled': return !(s[1] && s[2]);"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "if (check()) { done(true); return; }"
+            + "var finished = false, observer = null, timer = null, poll = null;"
+            + "function finish(value) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  observer.disconnect(); clearTimeout(timer); clearInterval(poll);"
+            + "  done(value);"
+            + "}"
+            + "observer = new MutationObserver(function() { if (check()) { finish(true); } });"
+            + "observer.observe(document,"
+            + "  {attributes: true, childList: true, characterData: true, subtree: true});"
+            + "poll = setInterval(function() { if (check()) { finish(true); } }, 50);"
+            + "timer = setTimeout(function() { finish(check()); }, arguments[2]);";
+
+    private static final Map<WebDriver, Boolean> SUPPORT = new WeakHashMap<WebDriver, Boolean>();
+
+    private ObserverWait() {
+    }
+
+    /**
+     * The states which can be waited for by the observer.
+     */
+    public enum Condition {
+        EXISTS("exists"),
+        DISAPPEARS("disappears"),
+        VISIBLE("visible"),
+        INVISIBLE("invisible"),
+        ENABLED("enabled"),
+        DISABLED("disabled");
+
+        private final String value;
+
+        Condition(String valueText) {
+            this.value = valueText;
+        }
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * Identifies whether observer waits can be used for the control.
+     * @param control the control to check.
+     * @return true - if observer waits are enabled and applicable for the control, false - otherwise.
+     */
+    public static boolean isSupported(Control control) {
+        if (!Configuration.eventWaits() || !PageSnapshot.isSupported(control)) {
+            return false;
+        }
+        WebDriver driver = control.getDriver();
+        if (!PageSnapshot.isSupported(driver)) {
+            return false;
+        }
+        synchronized (SUPPORT) {
+            return !Boolean.FALSE.equals(SUPPORT.get(driver));
+        }
+    }
+
+    private static long slice() {
+        return Math.min(SLICE, Configuration.scriptTimeout(SCRIPT_TIMEOUT) - SCRIPT_OVERHEAD);
+    }
+
+    private static void unsupported(WebDriver driver) {
+        synchronized (SUPPORT) {
+            SUPPORT.put(driver, false);
+        }
+    }
+
+    /**
+     * Waits for the control to get the state specified. If observer waits aren't applicable or the script
+     * fails, the fallback is called to poll the state for the time which remains till the end of the timeout.
+     * @param control the control to wait for.
+     * @param condition the state to wait for.
+     * @param timeout the time limit (in seconds) to wait for the state.
+     * @param fallback the polling wait which accepts the remaining time (in milliseconds).
+     * @return true - the state is reached, false - the state wasn't reached during the timeout.
+     */
+    public static boolean await(Control control, Condition condition, long timeout,
+            LongFunction<Boolean> fallback) {
+        long start = System.currentTimeMillis();
+        long end = start + TimeBudget.limit(timeout * MILLISECONDS_IN_SECOND);
+        long slice = slice();
+        if (!isSupported(control) || slice < MIN_SLICE) {
+            return fallback.apply(end - start);
+        }
+        WebDriver driver = control.getDriver();
+        try {
+            while (true) {
+                long wait = Math.max(0L, Math.min(slice, end - System.currentTimeMillis()));
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT,
+                        PageSnapshot.locator(control), condition.toString(), wait);
+                if (Boolean.TRUE.equals(result)) {
+                    return true;
+                }
+                if (System.currentTimeMillis() >= end) {
+                    return false;
+                }
+            }
+        } catch (UnsupportedCommandException | UnsupportedOperationException e) {
+            unsupported(driver);
+        } catch (WebDriverException e) {
+            e.printStackTrace();
+        }
+        return fallback.apply(Math.max(0L, end - System.currentTimeMillis()));
+    }
+
+    /**
+     * Drops the information about asynchronous script support by the driver.
+     * @param driver the WebDriver instance to drop data for.
+     */
+    public static void reset(WebDriver driver) {
+        synchronized (SUPPORT) {
+            SUPPORT.remove(driver);
+        }
+    }
+}
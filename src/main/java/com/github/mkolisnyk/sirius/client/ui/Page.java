@@ -9,6 +9,9 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,11 +24,11 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.Augmenter;
-import org.reflections.Reflections;
 
 import com.github.mkolisnyk.sirius.client.Driver;
 import com.github.mkolisnyk.sirius.client.ui.controls.Control;
 import com.github.mkolisnyk.sirius.client.ui.predicates.Operation;
+import com.github.mkolisnyk.sirius.client.ui.predicates.StateOperation;
 
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.PerformsTouchActions;
@@ -49,6 +52,8 @@ public class Page {
     private static String defaultPagesPackage = "";
 
     private WebDriver driver;
+    private PageBlueprint blueprint;
+    private List<Control> framePath;
 
     /**
      * Default constructor which binds the WebDriver instance to the Page abstractions.
@@ -115,27 +120,25 @@ public class Page {
     /**
      * Retrieves page object by it's logical name specified as the value of {@link Alias}
      * annotation. Mainly, it searches for classes extended from {@link Page} class inside
-     * the package specified by <b>pagePackage</b> parameter.
+     * the package specified by <b>pagePackage</b> parameter. The search is performed against
+     * the {@link PageRegistry} index which is built only once per package. The page instance
+     * is taken from {@link PageCache}, so subsequent calls within the same thread return the same
+     * page object until the driver or the window is changed.
      * @param name the logical name of the page class to retrieve instance of.
      * @param pagePackage the package to search page classes in.
      * @return the page class which alias matches the <b>name</b> paremeter.
      * @throws Exception any exception related to data conversion or null value.
      * @see Page#forName(String)
+     * @see PageRegistry
+     * @see PageCache
      * @see Alias
      */
     public static Page forName(String name, String pagePackage) throws Exception {
-        Reflections reflections = new Reflections(pagePackage);
-        Set<Class<? extends Page>> subTypes = reflections.getSubTypesOf(Page.class);
-        for (Class<? extends Page> type : subTypes) {
-            if (type.isMemberClass()) {
-                continue;
-            }
-            Alias annotation = type.getAnnotation(Alias.class);
-            if (annotation != null && annotation.value().equals(name)) {
-                return PageFactory.init(Driver.current(), type);
-            }
+        Class<? extends Page> type = PageRegistry.get(name, pagePackage);
+        if (type == null) {
+            return null;
         }
-        return null;
+        return PageCache.get(Driver.current(), type);
     }
 
     /**
@@ -514,14 +517,28 @@ public class Page {
         }
     }
 
+    private boolean await(Control[] elements, Operation<Boolean, Control> predicate, boolean all) {
+        StateOperation operation = (StateOperation) predicate;
+        List<StateOperation> operations = new ArrayList<StateOperation>();
+        for (int i = 0; i < elements.length; i++) {
+            operations.add(operation);
+        }
+        return StateOperation.await(Arrays.asList(elements), operations, all, operation.getTimeout());
+    }
+
     /**
      * Checks if all elements passed as the parameter have the state
-     * specified by predicate.
+     * specified by predicate. If the predicate is {@link StateOperation} all elements
+     * are checked within single waiting loop, so that the state is waited for during
+     * single timeout.
      * @param elements the list of elements to check.
      * @param predicate the condition to check against.
      * @return true if all elements met condition. False - otherwise.
      */
     public boolean allOf(Control[] elements, Operation<Boolean, Control> predicate) {
+        if (predicate instanceof StateOperation && elements.length > 1) {
+            return await(elements, predicate, true);
+        }
         for (Control element : elements) {
             if (!element.is(predicate)) {
                 return false;
@@ -532,12 +549,17 @@ public class Page {
 
     /**
      * Checks if any of elements passed as the parameter has the state
-     * specified by predicate.
+     * specified by predicate. If the predicate is {@link StateOperation} all elements
+     * are checked within single waiting loop which completes as soon as any element
+     * gets the state.
      * @param elements the list of elements to check.
      * @param predicate the condition to check against.
      * @return true if any of elements met condition. False - otherwise.
      */
     public boolean anyOf(Control[] elements, Operation<Boolean, Control> predicate) {
+        if (predicate instanceof StateOperation && elements.length > 1) {
+            return await(elements, predicate, false);
+        }
         for (Control element : elements) {
             if (element.is(predicate)) {
                 return true;
@@ -551,14 +573,15 @@ public class Page {
      * Gets the current page class control with logical name specified.
      * </p>
      * <p>
-     * Mainly it goes through all fields of current page class and checks
-     * only fields which are of {@link Control} class or any extended classes.
-     * For each of such control objects the method gets the {@link Alias}
-     * annotation and gets it value.
+     * Mainly it looks for the field of {@link Control} class or any extended classes
+     * which has {@link Alias} annotation value equal to the name specified as the
+     * parameter. Fields are indexed by their logical names once per page class, so
+     * the lookup doesn't scan page class fields on each call.
      * </p>
      * <p>
-     * If this value equals the name specified as the
-     * parameter the corresponding control is returned.
+     * The name may also refer to the control of nested page using dot-separated path
+     * of logical names, e.g. <b>Header.Search</b> refers to the <b>Search</b> control
+     * of the <b>Header</b> nested page.
      * </p>
      * @param name the logical name of the control to get from current page object.
      * @return the control corresponding to the logical name passed as the parameter
@@ -567,29 +590,22 @@ public class Page {
      * @see Alias
      */
     public Control field(String name) throws Exception {
-        for (Field field : this.getClass().getFields()) {
-            if (Control.class.isAssignableFrom(field.getType())) {
-                Alias alias = field.getAnnotation(Alias.class);
-                if (alias != null && name.equals(alias.value())) {
-                    return (Control) field.get(this);
-                }
-            }
-        }
-        return null;
+        return find(name, Control.class);
     }
     /**
      * <p>
      * Gets the current page class control with logical name specified.
      * </p>
      * <p>
-     * Mainly it goes through all fields of current page class and checks
-     * only fields which are of {@link Control} class or any extended classes.
-     * For each of such control objects the method gets the {@link Alias}
-     * annotation and gets it value.
+     * Mainly it looks for the field of {@link Control} class or any extended classes
+     * which has {@link Alias} annotation value equal to the name specified as the
+     * parameter. Fields are indexed by their logical names once per page class, so
+     * the lookup doesn't scan page class fields on each call.
      * </p>
      * <p>
-     * If this value equals the name specified as the
-     * parameter the corresponding control is returned.
+     * The name may also refer to the control of nested page using dot-separated path
+     * of logical names, e.g. <b>Header.Search</b> refers to the <b>Search</b> control
+     * of the <b>Header</b> nested page.
      * </p>
      * @param <T> the type of returning control.
      * @param name the logical name of the control to get from current page object.
@@ -600,15 +616,60 @@ public class Page {
      * @see Alias
      */
     public <T extends Control> T field(String name, Class<T> controlType) throws Exception {
-        for (Field field : this.getClass().getFields()) {
-            if (controlType.isAssignableFrom(field.getType())) {
-                Alias alias = field.getAnnotation(Alias.class);
-                if (alias != null && name.equals(alias.value())) {
-                    return (T) field.get(this);
-                }
+        return find(name, controlType);
+    }
+    void setBlueprint(PageBlueprint blueprintValue) {
+        this.blueprint = blueprintValue;
+    }
+    List<Control> getFramePath() {
+        return framePath;
+    }
+    void setFramePath(List<Control> framePathValue) {
+        this.framePath = framePathValue;
+    }
+    /**
+     * Identifies whether current page was initialised in lazy mode.
+     * @return true - if controls and nested pages are created on first access, false - otherwise.
+     * @see Lazy
+     */
+    public boolean isLazy() {
+        return blueprint != null;
+    }
+    /**
+     * Gets the value of the current page field. If the page was initialised in lazy mode
+     * and the field represents control or nested page which wasn't created yet, it is
+     * created and assigned to the field first.
+     * @param field the field of current page class.
+     * @return the field value.
+     * @throws Exception either reflection problems (like access) or missing attributes.
+     * @see Lazy
+     */
+    public Object fieldValue(Field field) throws Exception {
+        Object value = field.get(this);
+        if (value != null || blueprint == null) {
+            return value;
+        }
+        PageBlueprint.FieldBlueprint fieldBlueprint = blueprint.find(field);
+        if (fieldBlueprint == null) {
+            return null;
+        }
+        synchronized (this) {
+            value = field.get(this);
+            if (value == null) {
+                value = PageFactory.create(driver, this, fieldBlueprint);
+                fieldBlueprint.set(this, value);
             }
         }
-        return null;
+        return value;
+    }
+    /**
+     * Captures the state of all controls declared in current page class with single script call.
+     * @return the page snapshot.
+     * @throws Exception either reflection problems (like access) or missing attributes.
+     * @see PageSnapshot
+     */
+    public PageSnapshot snapshot() throws Exception {
+        return PageSnapshot.take(this);
     }
     /**
      * Looks for nested page object by specific name.
@@ -620,7 +681,8 @@ public class Page {
         return section(name, Page.class);
     }
     /**
-     * Looks for nested page object by specific name.
+     * Looks for nested page object by specific name. The name may be the dot-separated
+     * path of logical names for deeper nested pages, e.g. <b>Header.Menu</b>.
      * @param <T> the expected page class.
      * @param name the name of the sub-page to return.
      * @param pageType the target page object class.
@@ -628,13 +690,23 @@ public class Page {
      * @throws Exception any reflection related exceptions.
      */
     public <T extends Page> T section(String name, Class<T> pageType) throws Exception {
-        for (Field field : this.getClass().getFields()) {
-            if (pageType.isAssignableFrom(field.getType())) {
-                Alias alias = field.getAnnotation(Alias.class);
-                if (alias != null && name.equals(alias.value())) {
-                    return (T) field.get(this);
+        return find(name, pageType);
+    }
+    private <T> T find(String name, Class<T> type) throws Exception {
+        Field field = AliasIndex.of(this.getClass()).find(name, type);
+        if (field != null) {
+            return type.cast(fieldValue(field));
+        }
+        int index = name.indexOf('.');
+        while (index > 0) {
+            Page parent = section(name.substring(0, index));
+            if (parent != null) {
+                T result = parent.find(name.substring(index + 1), type);
+                if (result != null) {
+                    return result;
                 }
             }
+            index = name.indexOf('.', index + 1);
         }
         return null;
     }
@@ -644,6 +716,8 @@ public class Page {
      * @return current page object.
      */
     public Page switchToLast() {
+        PageCache.invalidate();
+        FrameTracker.invalidate(this.getDriver());
         Set<String> handles = this.getDriver().getWindowHandles();
         for (String handle : handles) {
             this.getDriver().switchTo().window(handle);
@@ -655,7 +729,9 @@ public class Page {
      * @return current page object.
      */
     public Page switchToDefault() {
+        PageCache.invalidate();
         this.getDriver().switchTo().defaultContent();
+        FrameTracker.reset(this.getDriver());
         Set<String> handles = this.getDriver().getWindowHandles();
         this.getDriver().switchTo().window(handles.iterator().next());
         return this;
@@ -667,7 +743,7 @@ public class Page {
      * @return .
      */
     public <T> T get(Operation<T, Page> predicate) {
-        return predicate.apply(this);
+        return TimeBudget.measure(() -> describe(predicate), () -> predicate.apply(this));
     }
     /**
      * Checks some state of page depending on predicate specified.
@@ -675,7 +751,15 @@ public class Page {
      * @return true if condition is met, false - otherwise.
      */
     public boolean is(Operation<Boolean, Page> predicate) {
-        return predicate.apply(this);
+        return TimeBudget.measure(() -> describe(predicate), () -> predicate.apply(this));
+    }
+
+    private String describe(Operation<?, Page> predicate) {
+        String description = predicate.description(this);
+        if (description == null) {
+            return String.format("Operation on the '%s' page.", this.getClass().getSimpleName());
+        }
+        return description;
     }
 
     /**
@@ -684,8 +768,8 @@ public class Page {
      * @return current page.
      */
     public Page verify(Operation<Boolean, Page> predicate) {
-        Assert.assertTrue("Unable to verify that " + predicate.description(this),
-                is(predicate));
+        boolean result = is(predicate);
+        Assert.assertTrue(TimeBudget.explain("Unable to verify that " + predicate.description(this)), result);
         return this;
     }
     /**
@@ -0,0 +1,344 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.openqa.selenium.By;
+
+import com.github.mkolisnyk.sirius.client.Platform;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Immutable description of the page class fields prepared for some specific platform.
+ * It contains all data which is resolved from page annotations: platform-specific
+ * {@link FindBy} attributes, parsed locators, sub-items and field setters.
+ * Blueprints are built once per page class and platform and then they are re-used
+ * by {@link PageFactory} for each new page instance, so that page creation
+ * only allocates the controls.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+final class PageBlueprint {
+    private static final ClassValue<ConcurrentHashMap<Platform, PageBlueprint>> BLUEPRINTS
+        = new ClassValue<ConcurrentHashMap<Platform, PageBlueprint>>() {
+            @Override
+            protected ConcurrentHashMap<Platform, PageBlueprint> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<Platform, PageBlueprint>();
+            }
+        };
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final List<FieldBlueprint> fields;
+    private final Map<Field, FieldBlueprint> fieldsMap;
+
+    private PageBlueprint(Class<?> pageClass, Platform platform) throws Exception {
+        List<FieldBlueprint> result = new ArrayList<FieldBlueprint>();
+        for (FieldSpec spec : resolve(pageClass, platform)) {
+            result.add(new FieldBlueprint(spec.resolve(pageClass), spec));
+        }
+        this.fields = Collections.unmodifiableList(result);
+        this.fieldsMap = new HashMap<Field, FieldBlueprint>();
+        for (FieldBlueprint field : result) {
+            this.fieldsMap.put(field.getField(), field);
+        }
+    }
+
+    /**
+     * Resolves page field annotations for the platform specified.
+     * @param pageClass the page class to resolve annotations of.
+     * @param platform the platform to resolve locators for.
+     * @return the list of resolved field descriptions in {@link Class#getFields()} order.
+     */
+    static List<FieldSpec> resolve(Class<?> pageClass, Platform platform) {
+        List<FieldSpec> result = new ArrayList<FieldSpec>();
+        for (Field field : pageClass.getFields()) {
+            FindBy[] locators = field.getAnnotationsByType(FindBy.class);
+            if (locators != null && locators.length > 0) {
+                FindBy locator = getLocatorForPlatform(locators, platform);
+                if (locator == null) {
+                    locator = getLocatorForPlatform(locators, Platform.ANY);
+                }
+                if (locator != null) {
+                    result.add(new FieldSpec(field, locator.locator(), locator.itemLocator(),
+                            locator.scrollTo(), locator.scrollDirection(), locator.format(),
+                            locator.excludeFromSearch(),
+                            getSubItemsForPlatform(field.getAnnotationsByType(SubItem.class), platform),
+                            Collections.unmodifiableList(Arrays.asList(locator.alternatives()))));
+                }
+            } else if (Page.class.isAssignableFrom(field.getType())) {
+                result.add(new FieldSpec(field));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the blueprint for the page class and platform specified. The blueprint
+     * is built on first request and then it is taken from the cache.
+     * @param pageClass the page class to get blueprint for.
+     * @param platform the platform to resolve locators for.
+     * @return the page blueprint.
+     * @throws Exception mainly related to missing constructors or inaccessible fields.
+     */
+    static PageBlueprint of(Class<?> pageClass, Platform platform) throws Exception {
+        ConcurrentHashMap<Platform, PageBlueprint> blueprints = BLUEPRINTS.get(pageClass);
+        PageBlueprint blueprint = blueprints.get(platform);
+        if (blueprint == null) {
+            blueprint = new PageBlueprint(pageClass, platform);
+            PageBlueprint existing = blueprints.putIfAbsent(platform, blueprint);
+            if (existing != null) {
+                blueprint = existing;
+            }
+        }
+        return blueprint;
+    }
+
+    private static FindBy getLocatorForPlatform(FindBy[] locators, Platform platform) {
+        for (FindBy locator : locators) {
+            if (locator.platform().equals(platform)) {
+                return locator;
+            }
+        }
+        return null;
+    }
+
+    private static List<SubItem> getSubItemsForPlatform(SubItem[] items, Platform platform) {
+        List<SubItem> result = new ArrayList<SubItem>();
+        for (SubItem item : items) {
+            if (item.platform().equals(platform) || item.platform().equals(Platform.ANY)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets descriptions of all page fields which are initialised by {@link PageFactory}.
+     * Fields are listed in the same order as they are returned by {@link Class#getFields()}.
+     * @return the list of field blueprints.
+     */
+    List<FieldBlueprint> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets description of the specific page field.
+     * @param field the page class field.
+     * @return the field blueprint or null if the field isn't initialised by {@link PageFactory}.
+     */
+    FieldBlueprint find(Field field) {
+        return fieldsMap.get(field);
+    }
+
+    /**
+     * Description of single page field which is either control or nested page.
+     */
+    static final class FieldBlueprint {
+        private final Field field;
+        private final MethodHandle setter;
+        private final BiFunction<Page, By, ? extends Control> constructor;
+        private final By locator;
+        private final By[] alternatives;
+        private final String itemLocator;
+        private final HashMap<String, SubItem> subItems;
+        private final String scrollTo;
+        private final ScrollTo scrollDirection;
+        private final String format;
+        private final boolean excludeFromSearch;
+
+        private FieldBlueprint(Field fieldValue, FieldSpec spec) throws Exception {
+            this.field = fieldValue;
+            this.setter = MethodHandles.publicLookup().unreflectSetter(fieldValue).asType(SETTER_TYPE);
+            if (spec.isSection()) {
+                this.constructor = null;
+                this.locator = null;
+                this.alternatives = null;
+                this.subItems = null;
+            } else {
+                this.constructor = Constructors.control(fieldValue.getType().asSubclass(Control.class));
+                this.locator = Locators.parse(spec.locator);
+                this.alternatives = new By[spec.alternatives.size()];
+                for (int i = 0; i < this.alternatives.length; i++) {
+                    this.alternatives[i] = Locators.parse(spec.alternatives.get(i));
+                }
+                this.subItems = new HashMap<String, SubItem>();
+                for (SubItem item : spec.subItems) {
+                    this.subItems.put(item.name(), item);
+                }
+            }
+            this.itemLocator = spec.itemLocator;
+            this.scrollTo = spec.scrollTo;
+            this.scrollDirection = spec.scrollDirection;
+            this.format = spec.format;
+            this.excludeFromSearch = spec.excludeFromSearch;
+        }
+
+        /**
+         * Gets the field described by current blueprint.
+         * @return the page class field.
+         */
+        Field getField() {
+            return field;
+        }
+
+        /**
+         * Identifies whether the field represents nested page rather than control.
+         * @return true - if the field is nested page, false - otherwise.
+         */
+        boolean isSection() {
+            return constructor == null;
+        }
+
+        /**
+         * Creates new control instance and applies all resolved attributes to it.
+         * @param page the page the control belongs to.
+         * @return initialised control.
+         * @throws Exception any exception thrown by control constructor.
+         */
+        Control newControl(Page page) throws Exception {
+            Control control = constructor.apply(page, locator);
+            control.setAlternatives(alternatives);
+            control.setItemLocatorText(itemLocator);
+            control.setSubItems(subItems);
+            control.setScrollTo(scrollTo);
+            control.setScrollDirection(scrollDirection);
+            control.setFormat(format);
+            control.setExcludeFromSearch(excludeFromSearch);
+            return control;
+        }
+
+        /**
+         * Assigns the value to the field of the page specified.
+         * @param page the page which field should be set.
+         * @param value the value to set.
+         * @throws Exception any exception thrown during value assignment.
+         */
+        void set(Page page, Object value) throws Exception {
+            try {
+                setter.invokeExact((Object) page, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Platform-specific data resolved from the field annotations. Unlike {@link FieldBlueprint}
+     * it contains only plain values.
+     */
+    static final class FieldSpec {
+        private final String declaringClass;
+        private final String name;
+        private final boolean section;
+        private final String locator;
+        private final String itemLocator;
+        private final String scrollTo;
+        private final ScrollTo scrollDirection;
+        private final String format;
+        private final boolean excludeFromSearch;
+        private final List<SubItem> subItems;
+        private final List<String> alternatives;
+        private final Field field;
+
+        private FieldSpec(Field fieldValue) {
+            this(fieldValue.getDeclaringClass().getName(), fieldValue.getName(), true,
+                    null, null, null, null, null, false, Collections.<SubItem>emptyList(),
+                    Collections.<String>emptyList(), fieldValue);
+        }
+
+        private FieldSpec(Field fieldValue, String locatorValue, String itemLocatorValue,
+                String scrollToValue, ScrollTo scrollDirectionValue, String formatValue,
+                boolean excludeFromSearchValue, List<SubItem> subItemsValue, List<String> alternativesValue) {
+            this(fieldValue.getDeclaringClass().getName(), fieldValue.getName(), false,
+                    locatorValue, itemLocatorValue, scrollToValue, scrollDirectionValue, formatValue,
+                    excludeFromSearchValue, subItemsValue, alternativesValue, fieldValue);
+        }
+
+        /**
+         * Creates field description from plain values.
+         * @param declaringClassValue the name of the class declaring the field.
+         * @param nameValue the field name.
+         * @param sectionValue the flag identifying whether the field is nested page.
+         * @param locatorValue the control locator.
+         * @param itemLocatorValue item locator.
+         * @param scrollToValue the text to scroll to.
+         * @param scrollDirectionValue the direction of scrolling.
+         * @param formatValue format string.
+         * @param excludeFromSearchValue exclude from search flag.
+         * @param subItemsValue sub-items applicable for the platform.
+         * @param alternativesValue alternative control locators.
+         * @param fieldValue the field itself or null if it should be resolved by name.
+         */
+        FieldSpec(String declaringClassValue, String nameValue, boolean sectionValue,
+                String locatorValue, String itemLocatorValue, String scrollToValue,
+                ScrollTo scrollDirectionValue, String formatValue, boolean excludeFromSearchValue,
+                List<SubItem> subItemsValue, List<String> alternativesValue, Field fieldValue) {
+            this.declaringClass = declaringClassValue;
+            this.name = nameValue;
+            this.section = sectionValue;
+            this.locator = locatorValue;
+            this.itemLocator = itemLocatorValue;
+            this.scrollTo = scrollToValue;
+            this.scrollDirection = scrollDirectionValue;
+            this.format = formatValue;
+            this.excludeFromSearch = excludeFromSearchValue;
+            this.subItems = subItemsValue;
+            this.alternatives = alternativesValue;
+            this.field = fieldValue;
+        }
+
+        Field resolve(Class<?> pageClass) throws Exception {
+            if (field != null) {
+                return field;
+            }
+            return Class.forName(declaringClass, false, pageClass.getClassLoader()).getDeclaredField(name);
+        }
+
+        String getDeclaringClass() {
+            return declaringClass;
+        }
+        String getName() {
+            return name;
+        }
+        boolean isSection() {
+            return section;
+        }
+        String getLocator() {
+            return locator;
+        }
+        String getItemLocator() {
+            return itemLocator;
+        }
+        String getScrollTo() {
+            return scrollTo;
+        }
+        ScrollTo getScrollDirection() {
+            return scrollDirection;
+        }
+        String getFormat() {
+            return format;
+        }
+        boolean isExcludeFromSearch() {
+            return excludeFromSearch;
+        }
+        List<SubItem> getSubItems() {
+            return subItems;
+        }
+        List<String> getAlternatives() {
+            return alternatives;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.github.mkolisnyk.sirius.client.Driver;
+
+/**
+ * <p>
+ * Storage of page object instances created for current thread. Each thread keeps pages
+ * initialised for the WebDriver instance it currently uses, so consecutive steps referring
+ * to the same page (e.g. navigation to the page followed by current page verification)
+ * re-use the same page object rather than initialise it again.
+ * </p>
+ * <p>
+ * The pages are dropped when another WebDriver instance is requested for the thread,
+ * when the driver context differs from the one the pages were created in or when the {@link #invalidate()}
+ * method is called. The context is the current document identifier for web platforms
+ * (see {@link DomEpoch#document(WebDriver)}), so it changes after navigation or window/frame switch.
+ * For other platforms the current window handle is used. The {@link #invalidate()} method is called
+ * automatically when new driver is set via {@link Driver#init(WebDriver)} or when the window/frame is
+ * switched via {@link Page#switchToLast()} or {@link Page#switchToDefault()} methods.
+ * </p>
+ * @author Mykola Kolisnyk
+ * @see Page#forName(String, String)
+ */
+public final class PageCache {
+
+    private PageCache() {
+    }
+
+    private static ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * Pages created for the specific WebDriver instance.
+     */
+    private static final class Entry {
+        private final WebDriver driver;
+        private final String context;
+        private final Map<Class<?>, Page> pages = new HashMap<Class<?>, Page>();
+
+        private Entry(WebDriver driverValue, String contextValue) {
+            this.driver = driverValue;
+            this.context = contextValue;
+        }
+    }
+
+    private static String context(WebDriver driver) {
+        try {
+            if (PageSnapshot.isSupported(driver)) {
+                return DomEpoch.document(driver);
+            }
+            return driver.getWindowHandle();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the page instance of the class specified for current thread. If there is no such page
+     * or it was created for another WebDriver instance or another document/window the new page is initialised via
+     * {@link PageFactory#init(WebDriver, Class)} and stored.
+     * @param <T> the page class.
+     * @param driver the WebDriver instance the page should be bound to.
+     * @param pageClass the page class to get instance of.
+     * @return page class instance.
+     * @throws Exception any exception which appears during page initialisation.
+     */
+    public static <T extends Page> T get(WebDriver driver, Class<T> pageClass) throws Exception {
+        String threadName = Driver.getThreadName();
+        Entry entry = entries.get(threadName);
+        String context = context(driver);
+        if (entry == null || entry.driver != driver || !Objects.equals(entry.context, context)) {
+            entry = new Entry(driver, context);
+            entries.put(threadName, entry);
+        }
+        Page page = entry.pages.get(pageClass);
+        if (page == null) {
+            page = PageFactory.init(driver, pageClass);
+            entry.pages.put(pageClass, page);
+        }
+        return pageClass.cast(page);
+    }
+
+    /**
+     * Drops all pages stored for current thread.
+     */
+    public static void invalidate() {
+        entries.remove(Driver.getThreadName());
+    }
+
+    /**
+     * Drops all pages stored for all threads.
+     */
+    public static void reset() {
+        entries = new ConcurrentHashMap<String, Entry>();
+    }
+}
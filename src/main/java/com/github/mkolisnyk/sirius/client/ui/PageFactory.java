@@ -1,15 +1,10 @@
 package com.github.mkolisnyk.sirius.client.ui;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 
-import org.apache.commons.lang3.ArrayUtils;
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
 import com.github.mkolisnyk.sirius.client.Configuration;
-import com.github.mkolisnyk.sirius.client.Platform;
-import com.github.mkolisnyk.sirius.client.ui.controls.Control;
 
 /**
  * The global object which is responsible for proper {@link Page} instance
@@ -21,67 +16,51 @@ public final class PageFactory {
     private PageFactory() {
     }
 
-    private static FindBy getLocatorForPlatform(FindBy[] locators, Platform platform) {
-        for (FindBy locator : locators) {
-            if (locator.platform().equals(platform)) {
-                return locator;
-            }
+    static <T extends Page> T init(WebDriver driver, Page parent, Class<?> pageClass) throws Exception {
+        boolean lazy = pageClass.isAnnotationPresent(Lazy.class) || (parent != null && parent.isLazy());
+        GeneratedPageFactory<?> generated = null;
+        if (!lazy) {
+            generated = GeneratedPages.factoryFor(pageClass);
         }
-        return null;
-    }
-
-    private static SubItem[] getSubItemsForPlatform(SubItem[] items, Platform platform) {
-        SubItem[] result = new SubItem[] {};
-        for (SubItem item : items) {
-            if (item.platform().equals(platform) || item.platform().equals(Platform.ANY)) {
-                result = ArrayUtils.add(result, item);
-            }
+        if (generated != null) {
+            return (T) generated.create(driver, parent);
         }
-        return result;
-    }
-    private static <T extends Page> T init(WebDriver driver, Page parent, Class<?> pageClass) throws Exception {
+        Class<? extends Page> type = pageClass.asSubclass(Page.class);
         T page = null;
-        if (parent == null) {
-            if (!pageClass.isMemberClass()
-                    || Modifier.isStatic(pageClass.getModifiers())) {
-                page = (T) pageClass.getConstructor(WebDriver.class).newInstance(driver);
-            } else {
-                Page parentPage = init(driver, null, (Class<?>) pageClass.getDeclaringClass());
-                page = (T) pageClass.getConstructor(pageClass.getDeclaringClass(), WebDriver.class)
-                        .newInstance(parentPage, driver);
-            }
+        if (!pageClass.isMemberClass()
+                || Modifier.isStatic(pageClass.getModifiers())) {
+            page = (T) Constructors.page(type).apply(driver);
         } else {
-            page = (T) pageClass.getConstructor(parent.getClass(), WebDriver.class).newInstance(parent, driver);
-        }
-        for (Field field : pageClass.getFields()) {
-            FindBy[] locators = field.getAnnotationsByType(FindBy.class);
-            if (locators != null && locators.length > 0) {
-                FindBy locator = getLocatorForPlatform(locators, Configuration.platform());
-                if (locator == null) {
-                    locator = getLocatorForPlatform(locators, Platform.ANY);
-                }
-                if (locator != null) {
-                    Control control = (Control) field.getType().getConstructor(Page.class, By.class).newInstance(page,
-                            toLocator(locator.locator()));
-                    control.setItemLocatorText(locator.itemLocator());
-                    SubItem[] items = field.getAnnotationsByType(SubItem.class);
-                    control.addSubItems(getSubItemsForPlatform(items, Configuration.platform()));
-                    control.setScrollTo(locator.scrollTo());
-                    control.setScrollDirection(locator.scrollDirection());
-                    control.setFormat(locator.format());
-                    control.setExcludeFromSearch(locator.excludeFromSearch());
-                    field.set(page, control);
-                }
-            } else if (Page.class.isAssignableFrom(field.getType())) {
-                field.set(page, init(driver, (Page) page, field.getType()));
+            Object outer = parent;
+            if (outer == null) {
+                outer = init(driver, null, (Class<?>) pageClass.getDeclaringClass());
             }
+            page = (T) Constructors.innerPage(type).apply(outer, driver);
+        }
+        PageBlueprint blueprint = PageBlueprint.of(pageClass, Configuration.platform());
+        if (lazy) {
+            page.setBlueprint(blueprint);
+            return page;
+        }
+        for (PageBlueprint.FieldBlueprint field : blueprint.getFields()) {
+            field.set(page, create(driver, page, field));
         }
         return page;
     }
+
+    static Object create(WebDriver driver, Page page, PageBlueprint.FieldBlueprint field) throws Exception {
+        if (field.isSection()) {
+            return init(driver, page, field.getField().getType());
+        }
+        return field.newControl(page);
+    }
     /**
      * Major method which initialises page object instance based on WebDriver and page class
      * provided. It processes all page and control related annotations and initialises all
-     * control fields.
+     * control fields. Annotations are resolved only once per page class and platform,
+     * all further calls re-use resolved data. If the page factory was generated at compile time
+     * for the page class the generated factory is used instead of reflection. For pages marked with
+     * {@link Lazy} annotation controls and nested pages are created on first access.
      * @param driver the WebDriver instance to pass to new page object instance.
      * @param pageClass the page class which instance should be created.
      * @param <T> the class of returning instance.
@@ -91,22 +70,4 @@ public final class PageFactory {
     public static <T extends Page> T init(WebDriver driver, Class<?> pageClass) throws Exception {
         return init(driver, null, pageClass);
     }
-
-    private static By toLocator(String input) {
-        if (input.matches("^(xpath=|/)(.*)")) {
-            return By.xpath(input.replaceAll("^xpath=", ""));
-        } else if (input.matches("^id=(.*)")) {
-            return By.id(input.substring("id=".length()));
-        } else if (input.matches("^name=(.*)")) {
-            return By.name(input.substring("name=".length()));
-        } else if (input.matches("^css=(.*)")) {
-            return By.cssSelector(input.substring("css=".length()));
-        } else if (input.matches("^class=(.*)")) {
-            return By.className(input.substring("class=".length()));
-        } else if (input.matches("^link=(.*)")) {
-            return By.linkText(input.substring("link=".length()));
-        } else {
-            return By.id(input);
-        }
-    }
 }
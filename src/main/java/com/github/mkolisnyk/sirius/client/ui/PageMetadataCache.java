@@ -0,0 +1,380 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+
+/**
+ * <p>
+ * Optional on-disk storage of page metadata which is shared between different JVM runs
+ * (e.g. between forked test processes). It keeps the page classes found by {@link PageRegistry},
+ * so that pages package isn't scanned for page classes by each run. Page annotations are still
+ * read at runtime as the classes have to be loaded anyway. The cache is enabled when the
+ * <b>pages_cache</b> configuration option contains the path to the cache file
+ * (see {@link Configuration#pagesCache()}). The file is memory-mapped and read on first access
+ * and it is written back on JVM shutdown if any new data was added.
+ * </p>
+ * <p>
+ * Each entry is stored together with the fingerprint of the package content which is the digest
+ * of all package class files found in the classpath directories and jars. If the fingerprint
+ * doesn't match current classpath state the entry is treated as stale and it is rebuilt.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class PageMetadataCache {
+    private static final int VERSION = 5;
+    private static final String DIGEST = "SHA-1";
+    private static final int BUFFER_SIZE = 8192;
+    private static final String CLASS_SUFFIX = ".class";
+    private static final int HEX_MASK = 0xFF;
+    private static final int HEX_HIGH = 0x100;
+    private static final int HEX_RADIX = 16;
+
+    private PageMetadataCache() {
+    }
+
+    private static String loadedPath;
+    private static final ConcurrentHashMap<String, RegistryEntry> REGISTRIES
+        = new ConcurrentHashMap<String, RegistryEntry>();
+    private static volatile boolean dirty = false;
+    private static boolean hookAdded = false;
+
+    /**
+     * Stored list of page classes found by {@link PageRegistry}.
+     */
+    private static final class RegistryEntry {
+        private final String fingerprint;
+        private final List<String> pages;
+
+        private RegistryEntry(String fingerprintValue, List<String> pagesValue) {
+            this.fingerprint = fingerprintValue;
+            this.pages = pagesValue;
+        }
+    }
+
+    private static synchronized boolean isEnabled() {
+        String path = "";
+        try {
+            path = Configuration.pagesCache();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        if (path.equals("")) {
+            return false;
+        }
+        if (!path.equals(loadedPath)) {
+            REGISTRIES.clear();
+            loadedPath = path;
+            try {
+                load(Paths.get(path));
+            } catch (Exception e) {
+                e.printStackTrace();
+                REGISTRIES.clear();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets all page classes available in the package specified. If the cache is disabled
+     * or stored list is stale the package is scanned by the <b>scanner</b> and the result is stored.
+     * @param pagesPackage the package to search page classes in.
+     * @param scanner the function which finds page classes by scanning the package.
+     * @return the set of page classes.
+     */
+    static Set<Class<? extends Page>> pages(String pagesPackage,
+            Function<String, Set<Class<? extends Page>>> scanner) {
+        if (!isEnabled()) {
+            return scanner.apply(pagesPackage);
+        }
+        String fingerprint = fingerprint(pagesPackage);
+        if (fingerprint.equals("")) {
+            return scanner.apply(pagesPackage);
+        }
+        RegistryEntry entry = REGISTRIES.get(pagesPackage);
+        if (entry != null && entry.fingerprint.equals(fingerprint)) {
+            try {
+                Set<Class<? extends Page>> result = new HashSet<Class<? extends Page>>();
+                for (String name : entry.pages) {
+                    result.add(Class.forName(name).asSubclass(Page.class));
+                }
+                return result;
+            } catch (ClassNotFoundException | ClassCastException e) {
+                e.printStackTrace();
+            }
+        }
+        Set<Class<? extends Page>> result = scanner.apply(pagesPackage);
+        List<String> names = new ArrayList<String>();
+        for (Class<? extends Page> page : result) {
+            names.add(page.getName());
+        }
+        REGISTRIES.put(pagesPackage, new RegistryEntry(fingerprint, names));
+        markDirty();
+        return result;
+    }
+
+    private static synchronized void markDirty() {
+        dirty = true;
+        if (!hookAdded) {
+            hookAdded = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    save();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+    }
+
+    /**
+     * Writes all cached data into the cache file if anything was changed since last load or save.
+     * Normally, it is done automatically on JVM shutdown.
+     * @throws IOException any problem related to writing the file.
+     */
+    public static synchronized void save() throws IOException {
+        if (!dirty || loadedPath == null) {
+            return;
+        }
+        Path target = Paths.get(loadedPath).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(VERSION);
+        out.writeInt(REGISTRIES.size());
+        for (Map.Entry<String, RegistryEntry> entry : REGISTRIES.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue().fingerprint);
+            out.writeInt(entry.getValue().pages.size());
+            for (String page : entry.getValue().pages) {
+                writeString(out, page);
+            }
+        }
+        out.flush();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        dirty = false;
+    }
+
+    /**
+     * Drops all data loaded from the cache file, so that it is re-read on next access.
+     */
+    public static synchronized void reset() {
+        loadedPath = null;
+        dirty = false;
+        REGISTRIES.clear();
+    }
+
+    private static void load(Path path) throws Exception {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != VERSION) {
+                return;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String pagesPackage = readString(buffer);
+                String fingerprint = readString(buffer);
+                int pageCount = buffer.getInt();
+                List<String> pages = new ArrayList<String>();
+                for (int j = 0; j < pageCount; j++) {
+                    pages.add(readString(buffer));
+                }
+                REGISTRIES.put(pagesPackage, new RegistryEntry(fingerprint, pages));
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static String toHex(byte[] data) {
+        StringBuilder result = new StringBuilder();
+        for (byte value : data) {
+            result.append(Integer.toString((value & HEX_MASK) + HEX_HIGH, HEX_RADIX).substring(1));
+        }
+        return result.toString();
+    }
+
+    private static void digest(MessageDigest digest, String name, byte[] data) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(digest(data));
+    }
+
+    private static byte[] digest(byte[] data) {
+        try {
+            return MessageDigest.getInstance(DIGEST).digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void list(File root, String prefix, TreeMap<String, byte[]> result) throws IOException {
+        File[] files = root.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                list(file, prefix + file.getName() + "/", result);
+            } else if (file.getName().endsWith(CLASS_SUFFIX)) {
+                result.put(prefix + file.getName(), digest(Files.readAllBytes(file.toPath())));
+            }
+        }
+    }
+
+    private static void list(JarFile jar, String prefix, TreeMap<String, byte[]> result) throws IOException {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (entry.getName().startsWith(prefix) && entry.getName().endsWith(CLASS_SUFFIX)) {
+                InputStream stream = jar.getInputStream(entry);
+                try {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read = stream.read(buffer);
+                    while (read >= 0) {
+                        bytes.write(buffer, 0, read);
+                        read = stream.read(buffer);
+                    }
+                    result.put(entry.getName(), digest(bytes.toByteArray()));
+                } finally {
+                    stream.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the classpath locations (directories and jar files) the page classes can be loaded from.
+     * Jar files are taken from the classpath itself rather than found as package resources,
+     * as jars without directory entries don't expose the package as a resource.
+     * @return the list of classpath locations.
+     */
+    static List<File> classpath() {
+        Set<File> result = new LinkedHashSet<File>();
+        ClassLoader loader = PageMetadataCache.class.getClassLoader();
+        if (loader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                if (url.getProtocol().equals("file")) {
+                    try {
+                        result.add(new File(url.toURI()));
+                    } catch (URISyntaxException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!path.equals("")) {
+                result.add(new File(path).getAbsoluteFile());
+            }
+        }
+        return new ArrayList<File>(result);
+    }
+
+    /**
+     * Calculates the fingerprint of the package content. The fingerprint is the digest of the names
+     * and the content of all class files from the package and all nested packages, so any change of
+     * the classes makes stored entries stale. The class files are only read as bytes, they are neither
+     * parsed nor loaded.
+     * @param pagesPackage the package to calculate fingerprint for.
+     * @return the package fingerprint.
+     */
+    static String fingerprint(String pagesPackage) {
+        return fingerprint(pagesPackage, classpath());
+    }
+
+    /**
+     * Calculates the fingerprint of the package content within the classpath locations specified.
+     * @param pagesPackage the package to calculate fingerprint for.
+     * @param locations the directories and jar files to look for package classes in.
+     * @return the package fingerprint.
+     */
+    static String fingerprint(String pagesPackage, List<File> locations) {
+        String root = pagesPackage.replace('.', '/') + "/";
+        TreeMap<String, byte[]> entries = new TreeMap<String, byte[]>();
+        try {
+            for (File location : locations) {
+                if (location.isDirectory()) {
+                    list(new File(location, root), root, entries);
+                } else if (location.isFile()) {
+                    JarFile jar = new JarFile(location);
+                    try {
+                        list(jar, root, entries);
+                    } finally {
+                        jar.close();
+                    }
+                }
+            }
+            MessageDigest digest = MessageDigest.getInstance(DIGEST);
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                digest(digest, entry.getKey(), entry.getValue());
+            }
+            return toHex(digest.digest());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "";
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reflections.Reflections;
+
+/**
+ * <p>
+ * Global index of page classes available inside some specific pages package.
+ * Each index associates the logical page name (defined via {@link Alias} annotation)
+ * with the page class. The index is built once per package and it is shared
+ * between all threads, so the classpath scanning is performed only once. If page metadata
+ * was generated at compile time (see {@link GeneratedPages}) for any page from the package, the page classes
+ * and their aliases are taken from that metadata and the package isn't scanned at all. So, all pages
+ * from such package are expected to be processed by the <b>sirius-page-processor</b>. The package is scanned
+ * reflectively only if no generated metadata exists for it. Also, the scan results can be taken from the on-disk
+ * cache shared between different runs (see {@link PageMetadataCache}). The list of all page classes
+ * found in the package is kept as well (see {@link PageRegistry#pages(String)}), so that other components
+ * don't need to scan the package again.
+ * </p>
+ * <p>
+ * Sample use:
+ * <pre>
+ * PageRegistry.warm(Configuration.pagesPackage()); // Builds the index upfront
+ * Class&lt;? extends Page&gt; type = PageRegistry.get("Home", Configuration.pagesPackage());
+ * </pre>
+ * </p>
+ * @author Mykola Kolisnyk
+ * @see Page#forName(String, String)
+ */
+public final class PageRegistry {
+
+    private PageRegistry() {
+    }
+
+    private static ConcurrentHashMap<String, Map<String, Class<? extends Page>>> registries
+        = new ConcurrentHashMap<String, Map<String, Class<? extends Page>>>();
+
+    private static ConcurrentHashMap<String, Set<Class<? extends Page>>> pages
+        = new ConcurrentHashMap<String, Set<Class<? extends Page>>>();
+
+    private static Set<Class<? extends Page>> scan(String pagesPackage) {
+        Reflections reflections = new Reflections(pagesPackage);
+        return new HashSet<Class<? extends Page>>(reflections.getSubTypesOf(Page.class));
+    }
+
+    private static Set<Class<? extends Page>> generated(String pagesPackage) {
+        try {
+            return GeneratedPages.pages(pagesPackage);
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            return new HashSet<Class<? extends Page>>();
+        }
+    }
+
+    private static Set<Class<? extends Page>> list(String pagesPackage) {
+        Set<Class<? extends Page>> result = generated(pagesPackage);
+        if (result.isEmpty()) {
+            result = PageMetadataCache.pages(pagesPackage, PageRegistry::scan);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static Map<String, Class<? extends Page>> build(String pagesPackage) {
+        Map<String, Class<? extends Page>> index = new HashMap<String, Class<? extends Page>>();
+        try {
+            index.putAll(GeneratedPages.aliases(pagesPackage));
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+        }
+        if (!generated(pagesPackage).isEmpty()) {
+            return Collections.unmodifiableMap(index);
+        }
+        for (Class<? extends Page> type : pages(pagesPackage)) {
+            if (type.isMemberClass() || GeneratedPages.isGenerated(type)) {
+                continue;
+            }
+            Alias annotation = type.getAnnotation(Alias.class);
+            if (annotation != null && !index.containsKey(annotation.value())) {
+                index.put(annotation.value(), type);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Gets all page classes (including nested ones) available in the package specified.
+     * The package is scanned only once, all further calls return the same set.
+     * @param pagesPackage the package to search page classes in.
+     * @return the set of page classes.
+     */
+    public static Set<Class<? extends Page>> pages(String pagesPackage) {
+        return pages.computeIfAbsent(pagesPackage, PageRegistry::list);
+    }
+
+    /**
+     * Makes sure the index for the package specified is built. If the index already exists
+     * it is returned as is, otherwise the package is scanned and the new index is stored.
+     * @param pagesPackage the package to search page classes in.
+     * @return the map of page classes associated with their logical names.
+     */
+    public static Map<String, Class<? extends Page>> warm(String pagesPackage) {
+        return registries.computeIfAbsent(pagesPackage, PageRegistry::build);
+    }
+
+    /**
+     * Forcibly re-scans the package specified and replaces previously stored index.
+     * It may be needed when page classes are loaded dynamically after the index was built.
+     * @param pagesPackage the package to search page classes in.
+     * @return the map of page classes associated with their logical names.
+     */
+    public static Map<String, Class<? extends Page>> refresh(String pagesPackage) {
+        pages.put(pagesPackage, list(pagesPackage));
+        Map<String, Class<? extends Page>> index = build(pagesPackage);
+        registries.put(pagesPackage, index);
+        return index;
+    }
+
+    /**
+     * Gets the page class by it's logical name. If the index for the package hasn't been
+     * built yet it is built first.
+     * @param name the logical name of the page class.
+     * @param pagesPackage the package to search page classes in.
+     * @return the page class which alias matches the <b>name</b> parameter or null if nothing found.
+     */
+    public static Class<? extends Page> get(String name, String pagesPackage) {
+        return warm(pagesPackage).get(name);
+    }
+
+    /**
+     * Removes all previously built indexes.
+     */
+    public static void reset() {
+        registries = new ConcurrentHashMap<String, Map<String, Class<? extends Page>>>();
+        pages = new ConcurrentHashMap<String, Set<Class<? extends Page>>>();
+    }
+}
@@ -0,0 +1,402 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * The state of multiple controls captured with single script call. Instead of sending separate
+ * WebDriver commands for each control and each property, all locators are passed to one
+ * <b>executeScript</b> call which returns existence, visibility, enabled state, text and value
+ * of every control. All further checks are performed against the in-memory {@link ControlState}
+ * objects.
+ * </p>
+ * <p>
+ * Snapshots are available for web platforms only and only for controls with standard locators
+ * (id, name, xpath, CSS selector, class name, tag name and link text) which don't require scrolling.
+ * Any other controls aren't included into the snapshot, so that {@link PageSnapshot#get(Control)}
+ * returns null for them and the caller should check them in a regular way. Controls sharing
+ * the same locator (e.g. the same header declared on multiple page classes) are queried once.
+ * </p>
+ * <p>
+ * Sample use:
+ * <pre>
+ * PageSnapshot snapshot = page.snapshot();
+ * ControlState state = snapshot.get(page.field("Login"));
+ * if (state != null &amp;&amp; state.isVisible()) {
+ *     ...
+ * }
+ * </pre>
+ * </p>
+ * @author Mykola Kolisnyk
+ * @see ControlState
+ */
+public final class PageSnapshot {
+    private static final Set<String> STRATEGIES = new LinkedHashSet<String>(Arrays.asList(
+            "id", "name", "xpath", "cssSelector", "className", "tagName", "linkText", "partialLinkText"));
+    /**
+     * Script fragment which declares the <b>isVisible(element)</b> function. The element is treated as visible
+     * if it isn't hidden by styles (including the styles inherited from its ancestors) and it occupies some space.
+     */
+    static final String VISIBLE_FUNCTION = "function isVisible(e) {"
+            + "  var style = window.getComputedStyle(e);"
+            + "  return style.visibility !== 'hidden' && style.display !== 'none'"
+            + "    && (e.offsetWidth > 0 || e.offsetHeight > 0 || e.getClientRects().length > 0);"
+            + "}";
+    /**
+     * Script fragment which declares the <b>state(candidates)</b> function returning the state
+     * of the element found by the first matching candidate locator as <b>[exists, visible, enabled, text, value]</b>.
+     * Each candidate is the pair of locator strategy and value.
+     */
+    static final String STATE_FUNCTION = VISIBLE_FUNCTION
+            + "function find(kind, value) {"
+            + "  switch (kind) {"
+            + "    case 'id': return document.getElementById(value);"
+            + "    case 'name': return document.getElementsByName(value)[0];"
+            + "    case 'xpath': return document.evaluate(value, document, null, 9, null).singleNodeValue;"
+            + "    case 'cssSelector': return document.querySelector(value);"
+            + "    case 'className': return document.getElementsByClassName(value)[0];"
+            + "    case 'tagName': return document.getElementsByTagName(value)[0];"
+            + "    case 'linkText': case 'partialLinkText':"
+            + "      for (var i = 0; i < document.links.length; i++) {"
+            + "        var text = (document.links[i].innerText || document.links[i].textContent || '').trim();"
+            + "        if (kind === 'linkText' ? text === value : text.indexOf(value) >= 0) {"
+            + "          return document.links[i];"
+            + "        }"
+            + "      }"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "function state(candidates) {"
+            + "  var e = null;"
+            + "  for (var c = 0; c < candidates.length && !e; c++) {"
+            + "    try { e = find(candidates[c][0], candidates[c][1]); } catch (err) { e = null; }"
+            + "  }"
+            + "  if (!e) { return [false, false, false, '', null]; }"
+            + "  var visible = isVisible(e);"
+            + "  var current = e.value !== undefined && e.value !== null ? String(e.value) : e.getAttribute('value');"
+            + "  return [true, visible, !e.disabled, visible ? (e.innerText || e.textContent || '').trim() : '',"
+            + "    current];"
+            + "}";
+    private static final String SCRIPT = "var locators = arguments[0];" + STATE_FUNCTION
+            + "var result = [];"
+            + "for (var i = 0; i < locators.length; i++) {"
+            + "  result.push(state(locators[i]));"
+            + "}"
+            + "return result;";
+
+    private final Map<Control, ControlState> states;
+
+    private PageSnapshot(Map<Control, ControlState> statesValue) {
+        this.states = Collections.unmodifiableMap(statesValue);
+    }
+
+    private static List<By> candidates(Control control) {
+        List<By> candidates = new ArrayList<By>();
+        candidates.add(control.getLocator());
+        if (!candidates.contains(control.getDeclaredLocator())) {
+            candidates.add(control.getDeclaredLocator());
+        }
+        for (By alternative : control.getAlternatives()) {
+            if (!candidates.contains(alternative)) {
+                candidates.add(alternative);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Converts the control locators into the list of pairs of strategy name and value
+     * which is passed to the {@link PageSnapshot#STATE_FUNCTION}. For the control with alternative
+     * locators (see {@link LocatorRace}) the locator which matched last time goes first followed by
+     * all other candidates, so the state corresponds to the first candidate matching any element.
+     * @param control the control to get locators of.
+     * @return the list of locator strategy and value pairs.
+     */
+    static List<List<String>> locator(Control control) {
+        List<List<String>> result = new ArrayList<List<String>>();
+        for (By candidate : candidates(control)) {
+            result.add(Arrays.asList(Locators.strategy(candidate), Locators.text(candidate)));
+        }
+        return result;
+    }
+
+    /**
+     * Identifies whether the control retrieves the property in the default way, so the value captured
+     * by the script corresponds to the value returned by the control. E.g. the
+     * {@link com.github.mkolisnyk.sirius.client.ui.controls.Edit} control overrides <b>getText</b>.
+     * @param control the control to check.
+     * @param method the name of the getter method, e.g. <b>getText</b>.
+     * @return true - if the method isn't overridden by the control class, false - otherwise.
+     */
+    public static boolean isDefault(Control control, String method) {
+        try {
+            return control.getClass().getMethod(method).getDeclaringClass().equals(Control.class);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Identifies whether snapshots can be taken for the driver specified.
+     * @param driver the WebDriver instance to check.
+     * @return true - if driver can execute scripts on web platform, false - otherwise.
+     */
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof JavascriptExecutor && Configuration.platform().isWeb();
+    }
+
+    /**
+     * Identifies whether the control state can be captured by the snapshot.
+     * @param control the control to check.
+     * @return true - if all control locators are standard ones and the control doesn't need scrolling,
+     *      false - otherwise.
+     */
+    public static boolean isSupported(Control control) {
+        if (control == null || !StringUtils.isBlank(control.getScrollTo())) {
+            return false;
+        }
+        for (By candidate : candidates(control)) {
+            if (!STRATEGIES.contains(Locators.strategy(candidate))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Captures the state of all controls declared in the page class.
+     * @param page the page to capture state of.
+     * @return the page snapshot.
+     * @throws Exception either reflection problems (like access) or missing attributes.
+     */
+    public static PageSnapshot take(Page page) throws Exception {
+        List<Control> controls = new ArrayList<Control>();
+        for (Field field : page.getClass().getFields()) {
+            if (Control.class.isAssignableFrom(field.getType())) {
+                Control control = (Control) page.fieldValue(field);
+                if (control != null) {
+                    controls.add(control);
+                }
+            }
+        }
+        return take(page.getDriver(), controls);
+    }
+
+    /**
+     * Captures the state of the controls specified. Only controls supported by snapshots are
+     * included into the result (see {@link PageSnapshot#isSupported(Control)}).
+     * @param driver the WebDriver instance to run script with.
+     * @param controls the controls to capture state of.
+     * @return the snapshot of controls state.
+     */
+    public static PageSnapshot take(WebDriver driver, Collection<? extends Control> controls) {
+        Map<Control, ControlState> result = new LinkedHashMap<Control, ControlState>();
+        if (!isSupported(driver)) {
+            return new PageSnapshot(result);
+        }
+        Map<Control, Integer> targets = new LinkedHashMap<Control, Integer>();
+        Map<List<List<String>>, Integer> locators = new LinkedHashMap<List<List<String>>, Integer>();
+        for (Control control : controls) {
+            if (isSupported(control) && !targets.containsKey(control)) {
+                List<List<String>> locator = locator(control);
+                Integer index = locators.get(locator);
+                if (index == null) {
+                    index = locators.size();
+                    locators.put(locator, index);
+                }
+                targets.put(control, index);
+            }
+        }
+        if (targets.isEmpty()) {
+            return new PageSnapshot(result);
+        }
+        Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT,
+                new ArrayList<List<List<String>>>(locators.keySet()));
+        List<?> values = raw instanceof List ? (List<?>) raw : Collections.emptyList();
+        for (Map.Entry<Control, Integer> target : targets.entrySet()) {
+            Object value = target.getValue() < values.size() ? values.get(target.getValue()) : null;
+            result.put(target.getKey(), ControlState.fromList(value instanceof List ? (List<?>) value : null));
+        }
+        return new PageSnapshot(result);
+    }
+
+    /**
+     * Gets the captured state of the control.
+     * @param control the control to get state of.
+     * @return the control state or null if the control isn't included into the snapshot.
+     */
+    public ControlState get(Control control) {
+        return states.get(control);
+    }
+
+    /**
+     * Gets all controls included into the snapshot.
+     * @return the set of controls.
+     */
+    public Set<Control> controls() {
+        return states.keySet();
+    }
+
+    /**
+     * <p>
+     * Waits until all expectations are resolved. Each iteration takes one snapshot of the controls
+     * which still have pending expectations, so the controls which are already resolved aren't
+     * queried again. Polling is performed by the {@link WaitEngine} of the driver.
+     * </p>
+     * <p>
+     * Each expectation is resolved according to its {@link Mode}. Once any expectation fails for sure
+     * (the {@link Mode#ONCE} expectation isn't met by the first snapshot or the {@link Mode#NEVER}
+     * expectation is met) the wait stops and only such expectations are returned.
+     * </p>
+     * @param driver the WebDriver instance to run script with.
+     * @param expectations the list of expectations to check.
+     * @param timeout the time limit (in seconds) to wait for expectations to be met.
+     * @return the list of expectations which failed. Empty list means all expectations are met.
+     */
+    public static List<Expectation> await(WebDriver driver, List<Expectation> expectations, long timeout) {
+        final List<Expectation> pending = new ArrayList<Expectation>(expectations);
+        final List<Expectation> failed = new ArrayList<Expectation>();
+        WaitEngine.of(driver).until(current -> {
+            Set<Control> controls = new LinkedHashSet<Control>();
+            for (Expectation expectation : pending) {
+                controls.add(expectation.getControl());
+            }
+            PageSnapshot snapshot = take(current, controls);
+            List<Expectation> resolved = new ArrayList<Expectation>();
+            for (Expectation expectation : pending) {
+                boolean met = expectation.isMetBy(snapshot);
+                if (expectation.getMode().equals(Mode.ONCE)) {
+                    resolved.add(expectation);
+                    if (!met) {
+                        failed.add(expectation);
+                    }
+                } else if (met) {
+                    resolved.add(expectation);
+                    if (expectation.getMode().equals(Mode.NEVER)) {
+                        failed.add(expectation);
+                    }
+                }
+            }
+            pending.removeAll(resolved);
+            if (!failed.isEmpty()) {
+                return true;
+            }
+            for (Expectation expectation : pending) {
+                if (expectation.getMode().equals(Mode.AWAIT)) {
+                    return false;
+                }
+            }
+            return pending.isEmpty();
+        }, timeout);
+        if (failed.isEmpty()) {
+            for (Expectation expectation : pending) {
+                if (expectation.getMode().equals(Mode.AWAIT)) {
+                    failed.add(expectation);
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * The way the expectation condition is resolved during the wait.
+     */
+    public enum Mode {
+        /**
+         * The condition should be met at some moment within the timeout.
+         */
+        AWAIT,
+        /**
+         * The condition is checked once against the first snapshot.
+         */
+        ONCE,
+        /**
+         * The condition shouldn't be met at any moment within the timeout,
+         * so the wait lasts the whole timeout unless the condition is met.
+         */
+        NEVER
+    }
+
+    /**
+     * The expected state of single control which is verified against the snapshot.
+     */
+    public static final class Expectation {
+        private final Control control;
+        private final Predicate<ControlState> condition;
+        private final String description;
+        private final Mode mode;
+
+        /**
+         * Creates expectation which should be met within the timeout.
+         * @param controlValue the control to check.
+         * @param conditionValue the condition the control state should meet.
+         * @param descriptionValue the text describing expectation.
+         */
+        public Expectation(Control controlValue, Predicate<ControlState> conditionValue, String descriptionValue) {
+            this(controlValue, conditionValue, descriptionValue, Mode.AWAIT);
+        }
+        /**
+         * Creates expectation.
+         * @param controlValue the control to check.
+         * @param conditionValue the condition to check the control state with.
+         * @param descriptionValue the text describing expectation.
+         * @param modeValue the way the condition is resolved.
+         */
+        public Expectation(Control controlValue, Predicate<ControlState> conditionValue, String descriptionValue,
+                Mode modeValue) {
+            this.control = controlValue;
+            this.condition = conditionValue;
+            this.description = descriptionValue;
+            this.mode = modeValue;
+        }
+        /**
+         * Gets the control to check.
+         * @return the control.
+         */
+        public Control getControl() {
+            return control;
+        }
+        /**
+         * Gets the text describing expectation.
+         * @return the expectation description.
+         */
+        public String getDescription() {
+            return description;
+        }
+        /**
+         * Gets the way the condition is resolved.
+         * @return the expectation mode.
+         */
+        public Mode getMode() {
+            return mode;
+        }
+        /**
+         * Checks whether the expectation is met by the snapshot.
+         * @param snapshot the snapshot to check.
+         * @return true - if control is in the snapshot and its state matches the condition,
+         *      false - otherwise.
+         */
+        public boolean isMetBy(PageSnapshot snapshot) {
+            ControlState state = snapshot.get(control);
+            return state != null && condition.test(state);
+        }
+    }
+}
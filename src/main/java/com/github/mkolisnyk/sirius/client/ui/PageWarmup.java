@@ -0,0 +1,109 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.Platform;
+
+/**
+ * <p>
+ * Prepares all page classes from some specific package before they are actually used.
+ * For each page class it performs class loading and initialisation, builds the alias index
+ * and the page blueprint for current platform, and loads generated page factory if available.
+ * Page classes are taken from the {@link PageRegistry} which is built for the package first,
+ * so the package is scanned only once. Pages are processed in parallel on the fork-join pool.
+ * </p>
+ * <p>
+ * The warmup is performed only once per package, all further calls return the report
+ * of the first run. The report contains the time (in milliseconds) spent on each page class.
+ * </p>
+ * <p>
+ * Sample use:
+ * <pre>
+ * PageWarmup.warm(Configuration.pagesPackage());
+ * </pre>
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class PageWarmup {
+
+    private PageWarmup() {
+    }
+
+    private static ConcurrentHashMap<String, FutureTask<Map<String, Long>>> reports
+        = new ConcurrentHashMap<String, FutureTask<Map<String, Long>>>();
+
+    private static long prepare(Class<? extends Page> pageClass, Platform platform) throws Exception {
+        long start = System.nanoTime();
+        Class.forName(pageClass.getName(), true, pageClass.getClassLoader());
+        AliasIndex.of(pageClass);
+        PageBlueprint.of(pageClass, platform);
+        GeneratedPages.factoryFor(pageClass);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static Map<String, Long> run(final String pagesPackage) {
+        final Platform platform = Configuration.platform();
+        final Map<String, Long> report = new ConcurrentHashMap<String, Long>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        PageRegistry.warm(pagesPackage);
+        for (final Class<? extends Page> pageClass : PageRegistry.pages(pagesPackage)) {
+            tasks.add(pool.submit(() -> {
+                try {
+                    report.put(pageClass.getName(), prepare(pageClass, platform));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        Map<String, Long> result = new TreeMap<String, Long>(report);
+        for (Map.Entry<String, Long> entry : result.entrySet()) {
+            System.out.println(String.format("Warmed up %s in %d ms", entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Prepares all page classes from the package specified. If the package was already
+     * processed the method returns the report of the previous run.
+     * @param pagesPackage the package to search page classes in.
+     * @return the map of page class names associated with the time in milliseconds spent on their preparation.
+     */
+    public static Map<String, Long> warm(final String pagesPackage) {
+        FutureTask<Map<String, Long>> task = new FutureTask<Map<String, Long>>(() -> run(pagesPackage));
+        FutureTask<Map<String, Long>> existing = reports.putIfAbsent(pagesPackage, task);
+        if (existing == null) {
+            existing = task;
+            task.run();
+        }
+        try {
+            return existing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+        return Collections.<String, Long>emptyMap();
+    }
+
+    /**
+     * Drops all warmup reports, so that next {@link #warm(String)} call processes the package again.
+     */
+    public static void reset() {
+        reports = new ConcurrentHashMap<String, FutureTask<Map<String, Long>>>();
+    }
+}
@@ -0,0 +1,269 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.exists;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Text lookup engine which answers the questions like "is this text shown on the page" for multiple
+ * texts at once. Instead of evaluating separate XPath expression (see {@link Page#getTextControl(String)})
+ * for each text, all texts of the page are gathered in one pass:
+ * <ul>
+ * <li> for web platforms the script collects all text nodes as well as <b>text</b> and
+ * <b>content-desc</b> attribute values of visible elements (hidden elements are detected in the same way
+ * as {@link PageSnapshot} does). Gathered texts are cached per {@link DomEpoch}, so while the
+ * page isn't changed the script returns just the epoch key instead of all texts again
+ * <li> for mobile platforms the same data is taken from the page source skipping the texts of elements
+ * marked with <b>displayed="false"</b> or <b>visible="false"</b>
+ * </ul>
+ * Like the XPath of {@link Page#getTextControl(String)} the text matches if any text node or attribute value
+ * contains it. Each text node is matched separately, so the text split across child elements
+ * (e.g. <b>Hello &lt;b&gt;world&lt;/b&gt;</b>) doesn't match as a whole.
+ * Each poll performs single query regardless of the number of texts to look for. Polling is performed
+ * by the {@link WaitEngine} of the driver.
+ * If texts cannot be gathered the lookup falls back to {@link Page#getTextControl(String)}.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class TextLookup {
+    private static final String[] ATTRIBUTES = {"text", "content-desc"};
+    private static final String[] VISIBILITY_ATTRIBUTES = {"displayed", "visible"};
+    private static final String COLLECT_SCRIPT = PageSnapshot.VISIBLE_FUNCTION
+            + "var skip = {SCRIPT: 1, STYLE: 1, NOSCRIPT: 1, TEMPLATE: 1};"
+            + "function each(root, callback) {"
+            + "  var walker = document.createTreeWalker(root, NodeFilter.SHOW_TEXT, null, false);"
+            + "  while (walker.nextNode()) {"
+            + "    var node = walker.currentNode, parent = node.parentNode;"
+            + "    var value = node.nodeValue.trim();"
+            + "    if (value && parent && parent.nodeType === 1 && !skip[parent.nodeName] && isVisible(parent)) {"
+            + "      var result = callback(value, parent);"
+            + "      if (result) { return result; }"
+            + "    }"
+            + "  }"
+            + "  var items = root.querySelectorAll('[text],[content-desc]');"
+            + "  for (var i = 0; i < items.length; i++) {"
+            + "    if (!isVisible(items[i])) { continue; }"
+            + "    var attributes = [items[i].getAttribute('text'), items[i].getAttribute('content-desc')];"
+            + "    for (var j = 0; j < attributes.length; j++) {"
+            + "      if (attributes[j]) {"
+            + "        var found = callback(attributes[j], items[i]);"
+            + "        if (found) { return found; }"
+            + "      }"
+            + "    }"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "var root = document.body || document.documentElement;";
+    private static final String TEXTS_SCRIPT = DomEpoch.OBSERVER_SCRIPT + COLLECT_SCRIPT
+            + "if (epoch === arguments[0]) { return [epoch]; }"
+            + "var texts = [epoch];"
+            + "each(root, function(value) { texts.push(value); return null; });"
+            + "return texts;";
+    private static final String FIND_SCRIPT = COLLECT_SCRIPT
+            + "var message = arguments[0];"
+            + "return each(root, function(value, element) {"
+            + "  return value.indexOf(message) >= 0 ? element : null;"
+            + "});";
+
+    private static final Map<WebDriver, Texts> TEXTS = new WeakHashMap<WebDriver, Texts>();
+
+    /**
+     * Texts gathered for the DOM state identified by the epoch key.
+     */
+    private static final class Texts {
+        private final long generation;
+        private final String epoch;
+        private final List<String> values;
+
+        Texts(long generationValue, String epochValue, List<String> valuesValue) {
+            this.generation = generationValue;
+            this.epoch = epochValue;
+            this.values = valuesValue;
+        }
+    }
+
+    private TextLookup() {
+    }
+
+    private static List<String> webTexts(WebDriver driver) {
+        long generation = DomEpoch.generation();
+        String known = null;
+        List<String> cached = null;
+        synchronized (TEXTS) {
+            Texts entry = TEXTS.get(driver);
+            if (entry != null && entry.generation == generation) {
+                known = entry.epoch;
+                cached = entry.values;
+            }
+        }
+        Object raw = ((JavascriptExecutor) driver).executeScript(TEXTS_SCRIPT, known);
+        if (!(raw instanceof List) || ((List<?>) raw).isEmpty()) {
+            return null;
+        }
+        List<?> values = (List<?>) raw;
+        String epoch = String.valueOf(values.get(0));
+        if (values.size() == 1 && epoch.equals(known)) {
+            return cached;
+        }
+        List<String> texts = new ArrayList<String>();
+        for (int i = 1; i < values.size(); i++) {
+            texts.add(String.valueOf(values.get(i)));
+        }
+        synchronized (TEXTS) {
+            TEXTS.put(driver, new Texts(generation, epoch, texts));
+        }
+        return texts;
+    }
+
+    private static boolean isHidden(Node node) {
+        NamedNodeMap attributes = node.getAttributes();
+        for (String name : VISIBILITY_ATTRIBUTES) {
+            Node attribute = attributes.getNamedItem(name);
+            if (attribute != null && attribute.getNodeValue().trim().equalsIgnoreCase("false")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(Node node, List<String> texts) {
+        boolean hidden = isHidden(node);
+        if (!hidden) {
+            NamedNodeMap attributes = node.getAttributes();
+            for (String name : ATTRIBUTES) {
+                Node attribute = attributes.getNamedItem(name);
+                if (attribute != null && !attribute.getNodeValue().isEmpty()) {
+                    texts.add(attribute.getNodeValue());
+                }
+            }
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                collect(child, texts);
+            } else if (child.getNodeType() == Node.TEXT_NODE && !hidden) {
+                String value = child.getNodeValue().trim();
+                if (!value.isEmpty()) {
+                    texts.add(value);
+                }
+            }
+        }
+    }
+
+    private static List<String> sourceTexts(WebDriver driver) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(driver.getPageSource())));
+            Element root = document.getDocumentElement();
+            List<String> texts = new ArrayList<String>();
+            collect(root, texts);
+            return texts;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gathers all texts shown on the page.
+     * @param driver the WebDriver instance to get texts from.
+     * @return the list of texts or null if texts cannot be gathered.
+     */
+    public static List<String> texts(WebDriver driver) {
+        if (PageSnapshot.isSupported(driver)) {
+            return webTexts(driver);
+        }
+        return sourceTexts(driver);
+    }
+
+    private static boolean contains(List<String> texts, String message) {
+        for (String text : texts) {
+            if (text.contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits for all texts specified to appear on the page.
+     * @param page the page to look for texts on.
+     * @param messages the texts to look for.
+     * @param timeout the time limit (in seconds) to wait for texts to appear.
+     * @return the list of texts which didn't appear during the timeout. Empty list means
+     *      all texts are shown.
+     */
+    public static List<String> missing(Page page, Collection<String> messages, long timeout) {
+        final List<String> pending = new ArrayList<String>(messages);
+        final boolean[] gathered = {true};
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        WaitEngine.of(page.getDriver()).until(driver -> {
+            List<String> texts = texts(driver);
+            if (texts == null) {
+                gathered[0] = false;
+                return true;
+            }
+            List<String> failed = new ArrayList<String>();
+            for (String message : pending) {
+                if (!contains(texts, message)) {
+                    failed.add(message);
+                }
+            }
+            pending.retainAll(failed);
+            return pending.isEmpty();
+        }, timeout);
+        if (!gathered[0]) {
+            List<String> result = new ArrayList<String>();
+            for (String message : pending) {
+                if (!page.getTextControl(message).is(exists((int) timeout))) {
+                    result.add(message);
+                }
+            }
+            return result;
+        }
+        return pending;
+    }
+
+    /**
+     * Waits for the element containing the text to appear.
+     * @param page the page to look for the text on.
+     * @param message the text to look for.
+     * @param timeout the time limit (in seconds) to wait for the text to appear.
+     * @return the element containing the text or null if the text didn't appear during the timeout.
+     */
+    public static WebElement find(Page page, String message, long timeout) {
+        WebDriver driver = page.getDriver();
+        if (!PageSnapshot.isSupported(driver)) {
+            Control control = page.getTextControl(message);
+            return control.awaitElement(timeout);
+        }
+        return WaitEngine.of(driver).until(current -> {
+            Object element = ((JavascriptExecutor) current).executeScript(FIND_SCRIPT, message);
+            if (element instanceof WebElement) {
+                return (WebElement) element;
+            }
+            return null;
+        }, timeout);
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Deadline-based time limit for all waits performed by current thread. Without the budget each
+ * operation waits for the whole {@link Page#getTimeout()}, so the step verifying ten controls may
+ * wait ten timeouts before it fails. When the budget is started, every wait performed by the
+ * {@link WaitEngine} or {@link ObserverWait} is limited by the time which remains till the deadline.
+ * Once the budget is exhausted all further waits make single check only, so the scenario fails within
+ * bounded time.
+ * </p>
+ * <p>
+ * The time spent by each top-level operation (see {@link TimeBudget#measure(Supplier, Supplier)}) is
+ * recorded, so that the report produced by {@link TimeBudget#report()} shows which operations used up
+ * the budget. Typically, the budget is started for each scenario by the
+ * {@link com.github.mkolisnyk.sirius.cucumber.steps.TimeBudgetHooks}. The step which needs different limit
+ * can override it:
+ * <pre>
+ * try (TimeBudget budget = TimeBudget.override("Upload", 120)) {
+ *     page.uploadButton.click();
+ *     page.uploadStatus.verify(hasText("Done"));
+ * }
+ * </pre>
+ * The time spent under the override is still recorded for the outer budget.
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class TimeBudget implements AutoCloseable {
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
+    private static final int REPORT_SIZE = 5;
+    private static final ThreadLocal<TimeBudget> CURRENT = new ThreadLocal<TimeBudget>();
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[] {0});
+
+    private final String name;
+    private final long limit;
+    private final long deadline;
+    private final TimeBudget outer;
+    private final Map<String, Long> usage = new LinkedHashMap<String, Long>();
+
+    private TimeBudget(String nameValue, long limitValue, TimeBudget outerValue) {
+        this.name = nameValue;
+        this.limit = limitValue;
+        this.deadline = System.currentTimeMillis() + limitValue;
+        this.outer = outerValue;
+    }
+
+    /**
+     * Starts new budget for current thread. Any previously started budget is discarded.
+     * @param name the name of the budget (e.g. scenario name) used in the report.
+     * @param seconds the time limit in seconds.
+     * @return started budget.
+     */
+    public static TimeBudget start(String name, long seconds) {
+        TimeBudget budget = new TimeBudget(name, seconds * MILLISECONDS_IN_SECOND, null);
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * Starts the budget which overrides the current one until it is closed.
+     * @param name the name of the overriding budget (e.g. step name) used in the report.
+     * @param seconds the time limit in seconds.
+     * @return started budget.
+     */
+    public static TimeBudget override(String name, long seconds) {
+        TimeBudget budget = new TimeBudget(name, seconds * MILLISECONDS_IN_SECOND, CURRENT.get());
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * Gets the budget which is active for current thread.
+     * @return the current budget or null if no budget is started.
+     */
+    public static TimeBudget current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Discards the budget of current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+        DEPTH.remove();
+    }
+
+    /**
+     * Limits the timeout by the time remaining in the current budget.
+     * @param timeout the timeout (in milliseconds) requested by the operation.
+     * @return the timeout (in milliseconds) which can be actually spent.
+     */
+    public static long limit(long timeout) {
+        TimeBudget budget = CURRENT.get();
+        if (budget == null) {
+            return timeout;
+        }
+        return Math.min(timeout, budget.remaining());
+    }
+
+    /**
+     * Performs the operation and records its duration into current budget. Nested operations
+     * aren't recorded separately, their time is included into the top-level operation.
+     * @param <T> the operation result type.
+     * @param description the supplier of the operation description. It is called only when
+     *      the budget is active.
+     * @param action the operation to perform.
+     * @return the operation result.
+     */
+    public static <T> T measure(Supplier<String> description, Supplier<T> action) {
+        TimeBudget budget = CURRENT.get();
+        if (budget == null) {
+            return action.get();
+        }
+        int[] depth = DEPTH.get();
+        long start = System.currentTimeMillis();
+        depth[0]++;
+        try {
+            return action.get();
+        } finally {
+            depth[0]--;
+            if (depth[0] == 0) {
+                String operation = description.get();
+                long elapsed = System.currentTimeMillis() - start;
+                for (TimeBudget current = budget; current != null; current = current.outer) {
+                    current.charge(operation, elapsed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the report of the current budget to the message if the budget is exhausted.
+     * @param message the message to append report to.
+     * @return the message with the report or original message if the budget isn't exhausted.
+     */
+    public static String explain(String message) {
+        TimeBudget budget = CURRENT.get();
+        if (budget == null || !budget.isExhausted()) {
+            return message;
+        }
+        return message + " " + budget.report();
+    }
+
+    private synchronized void charge(String operation, long elapsed) {
+        Long total = usage.get(operation);
+        if (total == null) {
+            total = 0L;
+        }
+        usage.put(operation, total + elapsed);
+    }
+
+    /**
+     * Gets the time remaining till the deadline.
+     * @return the remaining time in milliseconds, 0 if the budget is exhausted.
+     */
+    public long remaining() {
+        return Math.max(0L, deadline - System.currentTimeMillis());
+    }
+
+    /**
+     * Identifies whether the deadline is passed.
+     * @return true - if the budget is exhausted, false - otherwise.
+     */
+    public boolean isExhausted() {
+        return remaining() == 0L;
+    }
+
+    /**
+     * Gets the time spent by each operation.
+     * @return the map of operation descriptions and time (in milliseconds) spent.
+     */
+    public synchronized Map<String, Long> getUsage() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(usage));
+    }
+
+    /**
+     * Produces the report showing the operations which spent the most of the budget.
+     * @return the report text.
+     */
+    public String report() {
+        List<Entry<String, Long>> entries = new ArrayList<Entry<String, Long>>(getUsage().entrySet());
+        entries.sort((first, second) -> Long.compare(second.getValue(), first.getValue()));
+        StringBuilder result = new StringBuilder(String.format("The time budget '%s' of %d ms is %s.",
+                name, limit, isExhausted() ? "exhausted" : "not exhausted"));
+        if (!entries.isEmpty()) {
+            result.append(" The most expensive operations:");
+        }
+        for (Entry<String, Long> entry : entries.subList(0, Math.min(REPORT_SIZE, entries.size()))) {
+            result.append(String.format(" '%s' (%d ms);", entry.getKey(), entry.getValue()));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Finishes current budget and restores the budget which was overridden by it.
+     */
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+
+/**
+ * <p>
+ * Waiting loop shared by all waits performed for the same WebDriver instance. Unlike
+ * <b>WebDriverWait</b> which polls with fixed 500 ms interval, the engine starts polling with
+ * short interval and then doubles it after each unsuccessful poll until it reaches the maximal value.
+ * So the condition which is already met costs single call and the condition which takes some time
+ * doesn't produce too many calls. Initial and maximal intervals are taken from the <b>polling_initial</b>
+ * and <b>polling_max</b> configuration options (in milliseconds).
+ * </p>
+ * <p>
+ * The condition is treated as met when it returns any value other than null or <b>false</b>.
+ * {@link NotFoundException} and {@link StaleElementReferenceException} thrown by the condition
+ * are treated as not met condition.
+ * </p>
+ * <p>
+ * Each call collects {@link Metrics} which are available via {@link WaitEngine#getLastMetrics()} for the
+ * calling thread. The timeout of each wait is limited by the current {@link TimeBudget}. Time source
+ * and sleeping can be replaced via {@link WaitEngine#setClock(Clock)} and
+ * {@link WaitEngine#setSleeper(Sleeper)}, which is mainly needed for tests.
+ * </p>
+ * <p>
+ * The engine refers to its driver weakly, so neither the engine nor the registry of engines
+ * prevents the driver from being garbage collected after the session is closed.
+ * </p>
+ * <p>
+ * Sample use:
+ * <pre>
+ * WebElement element = WaitEngine.of(driver).until(
+ *     ExpectedConditions.presenceOfElementLocated(By.id("login")), Page.getTimeout());
+ * </pre>
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public final class WaitEngine {
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
+    private static final long DEFAULT_INITIAL_POLLING = 10L;
+    private static final long DEFAULT_MAX_POLLING = 500L;
+    private static final Map<WebDriver, WaitEngine> ENGINES = new WeakHashMap<WebDriver, WaitEngine>();
+
+    /**
+     * Source of the current time in milliseconds.
+     */
+    public interface Clock {
+        /**
+         * Gets current time.
+         * @return current time in milliseconds.
+         */
+        long millis();
+    }
+
+    /**
+     * Performs the pause between polls.
+     */
+    public interface Sleeper {
+        /**
+         * Pauses current thread.
+         * @param millis the pause duration in milliseconds.
+         * @throws InterruptedException if the thread was interrupted during pause.
+         */
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    /**
+     * Statistics of single wait.
+     */
+    public static final class Metrics {
+        private final int polls;
+        private final long waitTime;
+        private final long elapsed;
+        private final boolean successful;
+
+        private Metrics(int pollsValue, long waitTimeValue, long elapsedValue, boolean successfulValue) {
+            this.polls = pollsValue;
+            this.waitTime = waitTimeValue;
+            this.elapsed = elapsedValue;
+            this.successful = successfulValue;
+        }
+
+        /**
+         * Gets the number of times the condition was checked.
+         * @return the number of polls.
+         */
+        public int getPolls() {
+            return polls;
+        }
+        /**
+         * Gets the time (in milliseconds) spent on pauses between polls.
+         * @return the time spent on waiting.
+         */
+        public long getWaitTime() {
+            return waitTime;
+        }
+        /**
+         * Gets the total time (in milliseconds) of the wait including condition checks.
+         * @return the total wait duration.
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+        /**
+         * Identifies whether the condition was met.
+         * @return true - condition was met, false - timeout occurred.
+         */
+        public boolean isSuccessful() {
+            return successful;
+        }
+        @Override
+        public String toString() {
+            return String.format("polls: %d, waited: %d ms, elapsed: %d ms, successful: %s",
+                    polls, waitTime, elapsed, successful);
+        }
+    }
+
+    private final Reference<WebDriver> driver;
+    private volatile Clock clock = System::currentTimeMillis;
+    private volatile Sleeper sleeper = Thread::sleep;
+    private volatile long initialPolling;
+    private volatile long maxPolling;
+    private final ThreadLocal<Metrics> lastMetrics = new ThreadLocal<Metrics>();
+    private final AtomicLong totalPolls = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+
+    private WaitEngine(WebDriver driverValue) {
+        this.driver = new WeakReference<WebDriver>(driverValue);
+        this.initialPolling = Configuration.pollingInitial(DEFAULT_INITIAL_POLLING);
+        this.maxPolling = Math.max(initialPolling, Configuration.pollingMax(DEFAULT_MAX_POLLING));
+    }
+
+    /**
+     * Gets the engine shared by all waits for the WebDriver instance.
+     * @param driver the WebDriver instance to wait for.
+     * @return the wait engine.
+     */
+    public static WaitEngine of(WebDriver driver) {
+        synchronized (ENGINES) {
+            WaitEngine engine = ENGINES.get(driver);
+            if (engine == null) {
+                engine = new WaitEngine(driver);
+                ENGINES.put(driver, engine);
+            }
+            return engine;
+        }
+    }
+
+    /**
+     * Drops the engine of the driver, so that the new one is created with actual configuration on next access.
+     * @param driver the WebDriver instance to drop the engine for.
+     */
+    public static void reset(WebDriver driver) {
+        synchronized (ENGINES) {
+            ENGINES.remove(driver);
+        }
+    }
+
+    /**
+     * Waits until the condition is met.
+     * @param <T> the condition result type.
+     * @param condition the condition to wait for.
+     * @param timeout the time limit (in seconds) to wait for the condition.
+     * @return the value returned by the condition or null if the condition wasn't met during the timeout.
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, long timeout) {
+        return untilMillis(condition, timeout * MILLISECONDS_IN_SECOND);
+    }
+
+    /**
+     * Waits until the condition is met.
+     * @param <T> the condition result type.
+     * @param condition the condition to wait for.
+     * @param timeout the time limit (in milliseconds) to wait for the condition.
+     * @return the value returned by the condition or null if the condition wasn't met during the timeout
+     * or the driver was already garbage collected.
+     */
+    public <T> T untilMillis(Function<? super WebDriver, T> condition, long timeout) {
+        WebDriver current = driver.get();
+        if (current == null) {
+            return null;
+        }
+        Clock currentClock = clock;
+        long start = currentClock.millis();
+        long end = start + TimeBudget.limit(timeout);
+        long interval = initialPolling;
+        int polls = 0;
+        long waitTime = 0L;
+        T result = null;
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(current);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    result = value;
+                    break;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                result = null;
+            }
+            long now = currentClock.millis();
+            if (now >= end) {
+                break;
+            }
+            long pause = Math.min(interval, end - now);
+            try {
+                sleeper.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            waitTime += pause;
+            interval = Math.min(interval * 2, maxPolling);
+        }
+        lastMetrics.set(new Metrics(polls, waitTime, currentClock.millis() - start, result != null));
+        totalPolls.addAndGet(polls);
+        totalWaitTime.addAndGet(waitTime);
+        return result;
+    }
+
+    /**
+     * Gets statistics of the last wait performed by current thread.
+     * @return the metrics of the last wait or null if current thread didn't wait yet.
+     */
+    public Metrics getLastMetrics() {
+        return lastMetrics.get();
+    }
+
+    /**
+     * Gets the number of polls performed by all waits of the engine.
+     * @return total number of polls.
+     */
+    public long getTotalPolls() {
+        return totalPolls.get();
+    }
+
+    /**
+     * Gets the time (in milliseconds) spent on pauses by all waits of the engine.
+     * @return total time spent on waiting.
+     */
+    public long getTotalWaitTime() {
+        return totalWaitTime.get();
+    }
+
+    /**
+     * Sets polling intervals.
+     * @param initial the interval (in milliseconds) before the second poll.
+     * @param max the maximal interval (in milliseconds) between polls.
+     */
+    public void setPolling(long initial, long max) {
+        this.initialPolling = initial;
+        this.maxPolling = Math.max(initial, max);
+    }
+
+    /**
+     * Sets the time source.
+     * @param clockValue the time source.
+     */
+    public void setClock(Clock clockValue) {
+        this.clock = clockValue;
+    }
+
+    /**
+     * Sets the way to pause between polls.
+     * @param sleeperValue the sleeper to use.
+     */
+    public void setSleeper(Sleeper sleeperValue) {
+        this.sleeper = sleeperValue;
+    }
+}
@@ -1,23 +1,31 @@
 package com.github.mkolisnyk.sirius.client.ui.controls;
 
 import static com.github.mkolisnyk.sirius.client.ui.predicates.Getters.attribute;
-import static com.github.mkolisnyk.sirius.client.ui.predicates.States.exists;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
 
 import org.junit.Assert;
 import org.openqa.selenium.By;
-import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import com.github.mkolisnyk.sirius.client.ui.FrameTracker;
+import com.github.mkolisnyk.sirius.client.ui.LocatorRace;
+import com.github.mkolisnyk.sirius.client.ui.Locators;
 import com.github.mkolisnyk.sirius.client.ui.Page;
-import com.github.mkolisnyk.sirius.client.ui.PageFactory;
 import com.github.mkolisnyk.sirius.client.ui.ScrollTo;
 import com.github.mkolisnyk.sirius.client.ui.SubItem;
+import com.github.mkolisnyk.sirius.client.ui.TimeBudget;
+import com.github.mkolisnyk.sirius.client.ui.WaitEngine;
 import com.github.mkolisnyk.sirius.client.ui.predicates.Operation;
+import com.github.mkolisnyk.sirius.client.ui.predicates.StateOperation;
 
 /**
  * Major class for all control objects. All other control classes should be extended from this class.
@@ -25,16 +33,22 @@ import com.github.mkolisnyk.sirius.client.ui.predicates.Operation;
  *
  */
 public class Control {
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
     //protected static final long TIMEOUT = Configuration.timeout();
     private Page parent;
     private By locator;
+    private By[] alternatives = new By[] {};
     private String locatorText = "";
     private String itemLocatorText = "";
     private HashMap<String, SubItem> subItemsMap;
+    private boolean subItemsShared = false;
     private String scrollTo;
     private ScrollTo scrollDirection;
     private String format;
     private boolean excludeFromSearch = false;
+    private volatile WebElement cachedElement;
+    private Control scope;
+    private By scopedLocator;
 
     /**
      * Default constructor which binds page the control belongs to and the locator to
@@ -45,7 +59,7 @@ public class Control {
     public Control(Page parentValue, By locatorValue) {
         this.parent = parentValue;
         this.locator = locatorValue;
-        this.locatorText = this.locator.toString().replaceFirst("^By\\.(\\S+): ", "");
+        this.locatorText = Locators.text(this.locator);
         subItemsMap = new HashMap<String, SubItem>();
     }
 
@@ -66,13 +80,47 @@ public class Control {
     }
 
     /**
-     * Gets actual locator to be used for element location on page.
+     * Gets actual locator to be used for element location on page. If the control has
+     * alternative locators, the one which matched the element last time is returned
+     * (see {@link LocatorRace#preferred(Control)}).
      * @return actual locator.
      */
     public By getLocator() {
+        if (alternatives.length > 0) {
+            return LocatorRace.preferred(this);
+        }
+        return locator;
+    }
+
+    /**
+     * Gets the locator the control was created with.
+     * @return declared locator.
+     */
+    public By getDeclaredLocator() {
         return locator;
     }
 
+    /**
+     * Gets alternative locators which are tried together with the declared locator.
+     * @return alternative locators.
+     */
+    public By[] getAlternatives() {
+        return alternatives;
+    }
+
+    /**
+     * Sets alternative locators which are tried together with the declared locator.
+     * @param alternativesValue alternative locators.
+     * @see com.github.mkolisnyk.sirius.client.ui.FindBy#alternatives()
+     */
+    public void setAlternatives(By... alternativesValue) {
+        if (alternativesValue == null) {
+            this.alternatives = new By[] {};
+        } else {
+            this.alternatives = alternativesValue;
+        }
+    }
+
     /**
      * Gets the string representation of the locator.
      * @return string representation of the locator.
@@ -172,25 +220,205 @@ public class Control {
      * @param items sub-items to add.
      */
     public void addSubItems(SubItem[] items) {
+        HashMap<String, SubItem> map = getSubItemsMap();
         for (SubItem item : items) {
-            this.subItemsMap.put(item.name(), item);
+            map.put(item.name(), item);
         }
     }
 
+    /**
+     * Assigns the map of sub-items which is shared between multiple controls.
+     * The map is never modified by current control: it is copied on first access via
+     * {@link #getSubItemsMap()} or {@link #addSubItems(SubItem[])}, so each control
+     * works with it's own map while controls which don't use sub-items don't copy anything.
+     * @param items the map of sub-items associated with their name.
+     */
+    public void setSubItems(HashMap<String, SubItem> items) {
+        this.subItemsMap = items;
+        this.subItemsShared = true;
+    }
+
     /**
      * Gets the map of sub-items associated with their name.
      * @return map of sub-items associated with their name.
      */
     protected HashMap<String, SubItem> getSubItemsMap() {
+        if (subItemsShared) {
+            this.subItemsMap = new HashMap<String, SubItem>(this.subItemsMap);
+            subItemsShared = false;
+        }
         return subItemsMap;
     }
 
     /**
+     * <p>
      * Gets direct reference to the WebElement instance for current control object.
+     * The element is searched on each call, so the result always corresponds to the current page
+     * state even if the locator matches another node after the page was re-rendered.
+     * </p>
+     * <p>
+     * The element found is also stored as the cached element, so that the operations
+     * performed via {@link Control#withElement(Function)} right after that don't search for it again.
+     * </p>
      * @return direct reference to the WebElement instance.
      */
     public WebElement element() {
-        return getDriver().findElement(locator);
+        return locate();
+    }
+
+    /**
+     * Locates the element for current control object and stores it as the cached element.
+     * @return direct reference to the WebElement instance.
+     */
+    public WebElement locate() {
+        WebElement current = null;
+        if (scope != null) {
+            current = scope.withElement(container -> container.findElement(scopedLocator));
+        } else if (alternatives.length > 0) {
+            current = LocatorRace.find(this);
+            if (current == null) {
+                throw new NoSuchElementException(String.format(
+                        "Unable to locate element by any of the locators for '%s'", this.getLocatorText()));
+            }
+        } else {
+            current = getDriver().findElement(locator);
+        }
+        cachedElement = current;
+        return current;
+    }
+
+    /**
+     * <p>
+     * Makes current control to be located inside of the element of another control. In this case
+     * the element is searched by the scoped locator via <b>findElement</b> call on the container element
+     * rather than by the full locator from the document root. The container element is cached by the
+     * container control, so multiple controls sharing the same container (e.g. cells of the same table row)
+     * don't search for it again.
+     * </p>
+     * <p>
+     * The full locator is still used by predicates based on WebDriver expected conditions.
+     * </p>
+     * @param scopeValue the control which element contains current control element.
+     * @param scopedLocatorValue the locator of current control element relative to the container element.
+     */
+    public void setScope(Control scopeValue, By scopedLocatorValue) {
+        this.scope = scopeValue;
+        this.scopedLocator = scopedLocatorValue;
+    }
+
+    /**
+     * Stores the element which was located outside of the control, e.g. during waiting for
+     * element to appear, so that it isn't searched once again.
+     * @param current the element corresponding to current control locator.
+     */
+    public void setElement(WebElement current) {
+        this.cachedElement = current;
+    }
+
+    /**
+     * Drops the cached element, so that it is located again on next access.
+     */
+    public void refresh() {
+        this.cachedElement = null;
+    }
+
+    /**
+     * Applies some action to the element of current control. The cached element is used if any,
+     * otherwise the element is located first. If the cached element appears to be stale,
+     * the element is located once again and the action is repeated.
+     * @param <T> the action result type.
+     * @param action the action to apply to the element.
+     * @return the action result.
+     */
+    public <T> T withElement(Function<WebElement, T> action) {
+        WebElement current = cachedElement;
+        if (current == null) {
+            current = locate();
+        }
+        try {
+            return action.apply(current);
+        } catch (StaleElementReferenceException e) {
+            return action.apply(locate());
+        }
+    }
+
+    /**
+     * <p>
+     * Waits for the element of current control to appear and returns the element found by
+     * the waiting loop. The element is also stored as the cached element, so no additional
+     * search is needed for any further operation.
+     * </p>
+     * <p>
+     * Sample use:
+     * <pre>
+     * WebElement element = control.awaitElement(Page.getTimeout());
+     * if (element != null) {
+     *     element.click();
+     * }
+     * </pre>
+     * </p>
+     * @param timeout the time limit to wait for the element to appear.
+     * @return the element found or null if the element didn't appear during the timeout.
+     */
+    public WebElement awaitElement(long timeout) {
+        return awaitElementMillis(timeout * MILLISECONDS_IN_SECOND);
+    }
+
+    /**
+     * Waits for the element of current control to appear. Unlike {@link Control#awaitElement(long)}
+     * the timeout is specified in milliseconds, which is needed when only part of the timeout remains.
+     * @param timeout the time limit (in milliseconds) to wait for the element to appear.
+     * @return the element found or null if the element didn't appear during the timeout.
+     */
+    public WebElement awaitElementMillis(long timeout) {
+        this.scrollTo();
+        WaitEngine engine = WaitEngine.of(getDriver());
+        if (scope != null) {
+            return engine.untilMillis(driver -> locate(), timeout);
+        }
+        WebElement current = null;
+        if (alternatives.length > 0) {
+            current = engine.untilMillis(driver -> LocatorRace.find(this), timeout);
+        } else {
+            current = engine.untilMillis(ExpectedConditions.presenceOfElementLocated(locator), timeout);
+        }
+        if (current != null) {
+            cachedElement = current;
+        }
+        return current;
+    }
+
+    /**
+     * Waits for the element of current control to appear using default timeout.
+     * @return the element found or null if the element didn't appear during the timeout.
+     * @see Control#awaitElement(long)
+     */
+    public WebElement awaitElement() {
+        return awaitElement(Page.getTimeout());
+    }
+
+    private WebElement requireElement(long timeout) {
+        WebElement current = awaitElement(timeout);
+        Assert.assertNotNull(String.format("Unable to verify that Element with locator '%s' exists.",
+                this.getLocatorText()), current);
+        return current;
+    }
+
+    /**
+     * Waits for the element of current control to appear and applies some action to it.
+     * The action is applied to the element returned by the waiting loop. If the element
+     * appears to be stale, the waiting is performed once again and the action is repeated.
+     * @param <T> the action result type.
+     * @param timeout the time limit to wait for the element to appear.
+     * @param action the action to apply to the element.
+     * @return the action result.
+     */
+    public <T> T withElement(long timeout, Function<WebElement, T> action) {
+        try {
+            return action.apply(requireElement(timeout));
+        } catch (StaleElementReferenceException e) {
+            return action.apply(requireElement(timeout));
+        }
     }
 
     /**
@@ -202,7 +430,7 @@ public class Control {
      * @return direct reference to the WebElement instance.
      */
     public WebElement element(int index) {
-        return getDriver().findElements(locator).get(index);
+        return getDriver().findElements(getLocator()).get(index);
     }
 
     /**
@@ -213,25 +441,18 @@ public class Control {
      * @throws Exception any exception during page initialisation.
      */
     public <T extends Page> T switchTo(Class<T> pageClass) throws Exception {
-        verify(exists());
-        this.getDriver().switchTo().frame(this.element());
-        return PageFactory.init(getDriver(), pageClass);
+        return FrameTracker.enter(this, pageClass);
     }
 
     /**
      * Common method for various actions waiting for some element event to happen.
+     * The waiting is performed by the {@link WaitEngine} shared for current driver.
      * @param condition the expected condition predicate.
      * @param timeout the time limit to wait for event to happen.
      * @return true if condition is met, false - otherwise.
      */
     public boolean waitUntil(ExpectedCondition<?> condition, long timeout) {
-        WebDriverWait wait = new WebDriverWait(getDriver(), timeout);
-        try {
-            wait.until(condition);
-        } catch (TimeoutException e) {
-            return false;
-        }
-        return true;
+        return WaitEngine.of(getDriver()).until(condition, timeout) != null;
     }
     /**
      * .
@@ -240,7 +461,7 @@ public class Control {
      * @return .
      */
     public <T> T perform(Operation<T, Control> predicate) {
-        return predicate.apply(this);
+        return TimeBudget.measure(() -> describe(predicate), () -> predicate.apply(this));
     }
     /**
      * .
@@ -249,7 +470,7 @@ public class Control {
      * @return .
      */
     public <T> T get(Operation<T, Control> predicate) {
-        return predicate.apply(this);
+        return TimeBudget.measure(() -> describe(predicate), () -> predicate.apply(this));
     }
     /**
      * Checks some state of control depending on predicate specified.
@@ -257,7 +478,15 @@ public class Control {
      * @return true if condition is met, false - otherwise.
      */
     public boolean is(Operation<Boolean, Control> predicate) {
-        return predicate.apply(this);
+        return TimeBudget.measure(() -> describe(predicate), () -> predicate.apply(this));
+    }
+
+    private String describe(Operation<?, Control> predicate) {
+        String description = predicate.description(this);
+        if (description == null) {
+            return String.format("Operation on element with locator '%s'.", this.getLocatorText());
+        }
+        return description;
     }
 
     /**
@@ -266,16 +495,39 @@ public class Control {
      * @return current control.
      */
     public Control verify(Operation<Boolean, Control> predicate) {
-        Assert.assertTrue("Unable to verify that " + predicate.description(this),
-                is(predicate));
+        boolean result = is(predicate);
+        Assert.assertTrue(TimeBudget.explain("Unable to verify that " + predicate.description(this)), result);
         return this;
     }
     /**
-     * Verifies that control has multiple states in place.
+     * Verifies that control has multiple states in place. If all predicates are {@link StateOperation}
+     * instances they are waited for within single waiting loop limited by the longest timeout
+     * of the predicates, so that all states should be in place at the same time. If the states aren't
+     * in place the verification fails with the description of the first predicate which isn't met.
      * @param predicates the list of predicates to check.
      * @return current control.
      */
     public Control verify(Operation<Boolean, Control>... predicates) {
+        List<Control> controls = new ArrayList<Control>();
+        List<StateOperation> operations = new ArrayList<StateOperation>();
+        int timeout = 0;
+        for (Operation<Boolean, Control> predicate : predicates) {
+            if (!(predicate instanceof StateOperation)) {
+                operations = null;
+                break;
+            }
+            StateOperation operation = (StateOperation) predicate;
+            controls.add(this);
+            operations.add(operation);
+            timeout = Math.max(timeout, operation.getTimeout());
+        }
+        if (operations != null && operations.size() > 1) {
+            int unmet = StateOperation.unmet(controls, operations, timeout);
+            if (unmet >= 0) {
+                Assert.fail(TimeBudget.explain("Unable to verify that " + operations.get(unmet).description(this)));
+            }
+            return this;
+        }
         for (Operation<Boolean, Control> predicate : predicates) {
             verify(predicate);
         }
@@ -286,8 +538,7 @@ public class Control {
      * @return element text.
      */
     public String getText() {
-        verify(exists());
-        return this.element().getText();
+        return this.withElement(Page.getTimeout(), WebElement::getText);
     }
 
     /**
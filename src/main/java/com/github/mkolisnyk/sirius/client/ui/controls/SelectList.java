@@ -1,10 +1,9 @@
 package com.github.mkolisnyk.sirius.client.ui.controls;
 
-import static com.github.mkolisnyk.sirius.client.ui.predicates.States.exists;
-
 import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.Select;
 
+import com.github.mkolisnyk.sirius.client.ui.DomEpoch;
 import com.github.mkolisnyk.sirius.client.ui.Page;
 
 /**
@@ -37,8 +36,11 @@ public class SelectList extends Editable {
      * @return current object for chain operations.
      */
     public SelectList selectByText(String value) {
-        this.verify(exists());
-        this.getSelect().selectByVisibleText(value);
+        this.withElement(Page.getTimeout(), element -> {
+            new Select(element).selectByVisibleText(value);
+            return element;
+        });
+        DomEpoch.invalidate();
         return this;
     }
 
@@ -3,8 +3,12 @@ package com.github.mkolisnyk.sirius.client.ui.controls;
 import static com.github.mkolisnyk.sirius.client.ui.predicates.States.disappears;
 import static com.github.mkolisnyk.sirius.client.ui.predicates.States.exists;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.openqa.selenium.By;
 
+import com.github.mkolisnyk.sirius.client.ui.Constructors;
+import com.github.mkolisnyk.sirius.client.ui.DomEpoch;
 import com.github.mkolisnyk.sirius.client.ui.Page;
 import com.github.mkolisnyk.sirius.client.ui.SubItem;
 
@@ -28,6 +32,9 @@ public class TableView extends Control {
         super(parentValue, locatorValue);
     }
 
+    private final ConcurrentHashMap<Integer, Control> items = new ConcurrentHashMap<Integer, Control>();
+    private volatile long generation = DomEpoch.generation();
+
     protected String getFullItemLocator() {
         return String.format("%s%s", this.getLocatorText(), this.getItemLocatorText());
     }
@@ -42,14 +49,46 @@ public class TableView extends Control {
     }
 
     /**
+     * <p>
      * Generates and returns control object which corresponds to the compound object
-     * item specified by index.
+     * item specified by index. Item controls are cached, so that the item element
+     * located once is re-used by all sub-items of the same item.
+     * </p>
+     * <p>
+     * Items are located by their position, so once any action is performed (see {@link DomEpoch#invalidate()})
+     * the cached item elements are dropped as the action may sort or filter the items. If items are re-rendered
+     * in any other way, the {@link TableView#refresh()} method should be called.
+     * </p>
      * @param index the item order number.
      * @return control object corresponding to item.
      */
     public Control getItem(int index) {
-        String locator = String.format("(%s)[%d]", this.getFullItemLocator(), index + 1);
-        return new Control(this.getParent(), By.xpath(locator));
+        long current = DomEpoch.generation();
+        if (current != generation) {
+            generation = current;
+            for (Control cached : items.values()) {
+                cached.refresh();
+            }
+        }
+        Control item = items.get(index);
+        if (item == null) {
+            String locator = String.format("(%s)[%d]", this.getFullItemLocator(), index + 1);
+            item = new Control(this.getParent(), By.xpath(locator));
+            Control existing = items.putIfAbsent(index, item);
+            if (existing != null) {
+                item = existing;
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Drops cached element of the control as well as cached elements of all items.
+     */
+    @Override
+    public void refresh() {
+        super.refresh();
+        items.clear();
     }
 
     /**
@@ -101,6 +140,8 @@ public class TableView extends Control {
 
     /**
      * Common method which generates control object for specific sub-item of specific type.
+     * If sub-item locator is XPath starting with <b>/</b>, the sub-item element is searched inside
+     * of the item element (see {@link Control#setScope(Control, By)}).
      * @param name the sub-item name.
      * @param index the item index.
      * @param itemType the control type to cast sub-item instance to.
@@ -109,9 +150,12 @@ public class TableView extends Control {
      * @throws Exception class cast exceptions.
      */
     public <T extends Control> T getSubItem(String name, int index, Class<T> itemType) throws Exception {
-        T element = itemType.getConstructor(Page.class, By.class).newInstance(this.getParent(),
-                getSubItemLocator(name, index));
-        return element;
+        T control = Constructors.control(itemType).apply(this.getParent(), getSubItemLocator(name, index));
+        String locator = this.getSubItemsMap().get(name).locator();
+        if (locator.startsWith("/")) {
+            control.setScope(getItem(index), By.xpath("." + locator));
+        }
+        return control;
     }
 
     /**
@@ -8,6 +8,7 @@ import java.awt.Rectangle;
 import org.junit.Assert;
 
 import com.github.mkolisnyk.sirius.client.ui.Direction;
+import com.github.mkolisnyk.sirius.client.ui.DomEpoch;
 import com.github.mkolisnyk.sirius.client.ui.Page;
 import com.github.mkolisnyk.sirius.client.ui.PageFactory;
 import com.github.mkolisnyk.sirius.client.ui.controls.Control;
@@ -31,8 +32,11 @@ public final class Actions {
 
             @Override
             public Control apply(Control item) {
-                item.verify(States.exists(Page.getTimeout()));
-                item.element().click();
+                item.withElement(Page.getTimeout(), element -> {
+                    element.click();
+                    return element;
+                });
+                DomEpoch.invalidate();
                 return item;
             }
         };
@@ -49,10 +53,13 @@ public final class Actions {
 
             @Override
             public Control apply(Control item) {
-                item.verify(States.exists(Page.getTimeout()));
                 org.openqa.selenium.interactions.Actions builder
                     = new org.openqa.selenium.interactions.Actions(item.getDriver());
-                builder.moveToElement(item.element(), x, y).click().build().perform();
+                item.withElement(Page.getTimeout(), element -> {
+                    builder.moveToElement(element, x, y).click().build().perform();
+                    return element;
+                });
+                DomEpoch.invalidate();
                 return item;
             }
         };
@@ -68,7 +75,6 @@ public final class Actions {
 
             @Override
             public Control apply(Control item) {
-                item.verify(States.exists(Page.getTimeout()));
                 Rectangle rect = item.get(rectangle());
                 int x = rect.width / 2;
                 int y = rect.height / 2;
@@ -96,8 +102,11 @@ public final class Actions {
 
             @Override
             public Control apply(Control item) {
-                item.verify(States.exists(Page.getTimeout()));
-                item.element().sendKeys(keys);
+                item.withElement(Page.getTimeout(), element -> {
+                    element.sendKeys(keys);
+                    return element;
+                });
+                DomEpoch.invalidate();
                 return item;
             }
         };
@@ -112,8 +121,11 @@ public final class Actions {
 
             @Override
             public Editable apply(Control item) {
-                item.verify(States.exists(Page.getTimeout()));
-                item.element().clear();
+                item.withElement(Page.getTimeout(), element -> {
+                    element.clear();
+                    return element;
+                });
+                DomEpoch.invalidate();
                 return (Editable) item;
             }
         };
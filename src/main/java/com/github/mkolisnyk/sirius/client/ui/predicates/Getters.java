@@ -4,15 +4,24 @@ import static com.github.mkolisnyk.sirius.client.ui.predicates.States.current;
 import static com.github.mkolisnyk.sirius.client.ui.predicates.States.exists;
 
 import java.awt.Rectangle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 
 import com.github.mkolisnyk.sirius.client.Driver;
 import com.github.mkolisnyk.sirius.client.ui.AlertPage;
+import com.github.mkolisnyk.sirius.client.ui.ControlState;
 import com.github.mkolisnyk.sirius.client.ui.Page;
 import com.github.mkolisnyk.sirius.client.ui.PageFactory;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot;
+import com.github.mkolisnyk.sirius.client.ui.WaitEngine;
 import com.github.mkolisnyk.sirius.client.ui.controls.Control;
 
 /**
@@ -21,6 +30,8 @@ import com.github.mkolisnyk.sirius.client.ui.controls.Control;
  *
  */
 public final class Getters {
+    private static final Map<Class<?>, Long> RECENT_PAGES = new ConcurrentHashMap<Class<?>, Long>();
+
     private Getters() {
     }
     /**
@@ -64,10 +75,17 @@ public final class Getters {
      * <p>
      * If nothing is found after specified iteration limit the null value is returned.
      * </p>
+     * <p>
+     * For web platforms each check verifies all candidate pages against single {@link PageSnapshot},
+     * so that the number of WebDriver calls doesn't depend on the number of pages and controls.
+     * In this case the checks are repeated by {@link WaitEngine} and the number of tries is treated
+     * as the timeout in seconds, which corresponds to the time taken by single iteration of
+     * the checks performed via WebDriver calls.
+     * </p>
      * @param pageClasses the list of page classes to look in.
      * @param tries the number of iterations.
-     * @param useCache (not in use at the moment) the flag identifying whether method should use
-     *      cached source for verifications prior to applying to application under test directly.
+     * @param useCache the flag identifying whether pages which were recently detected should be
+     *      checked first.
      * @return the Page instance for the current page found or null if none
      *      of proposed page classes fits the current state.
      */
@@ -77,25 +95,99 @@ public final class Getters {
 
             @Override
             public Page apply(Page page) {
-                Page[] pages = new Page[pageClasses.length];
-                for (int i = 0; i < pageClasses.length; i++) {
+                List<Page> pages = new ArrayList<Page>();
+                for (Class<? extends Page> pageClass : pageClasses) {
                     try {
-                        pages[i] = PageFactory.init(Driver.current(), pageClasses[i]);
+                        pages.add(PageFactory.init(Driver.current(), pageClass));
                     } catch (Exception e) {
                         e.printStackTrace();
                     }
                 }
-                for (int i = 0; i < tries; i++) {
-                    for (Page item : pages) {
-                        if (item.is(current(1))) {
-                            return page;
-                        }
+                if (useCache) {
+                    pages.sort((first, second) -> Long.compare(
+                            RECENT_PAGES.getOrDefault(second.getClass(), 0L),
+                            RECENT_PAGES.getOrDefault(first.getClass(), 0L)));
+                }
+                Page result = null;
+                if (PageSnapshot.isSupported(Driver.current())) {
+                    if (tries > 0) {
+                        result = WaitEngine.of(Driver.current()).until(driver -> detect(pages, true), tries);
+                    }
+                } else {
+                    for (int i = 0; i < tries && result == null; i++) {
+                        result = detect(pages, false);
                     }
                 }
-                return null;
+                if (result != null) {
+                    RECENT_PAGES.put(result.getClass(), System.nanoTime());
+                }
+                return result;
             }
         };
     }
+    private static List<Control> searchableControls(Page page) {
+        List<Control> controls = new ArrayList<Control>();
+        for (Field field : page.getClass().getFields()) {
+            if (Control.class.isAssignableFrom(field.getType())) {
+                Control control = null;
+                try {
+                    control = (Control) page.fieldValue(field);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                if (control == null) {
+                    return null;
+                }
+                if (!control.isExcludeFromSearch()) {
+                    controls.add(control);
+                }
+            }
+        }
+        return controls;
+    }
+
+    private static Page detect(List<Page> pages, boolean useSnapshot) {
+        if (pages.isEmpty() || !useSnapshot) {
+            for (Page item : pages) {
+                if (item.is(current(1))) {
+                    return item;
+                }
+            }
+            return null;
+        }
+        Map<Page, List<Control>> candidates = new LinkedHashMap<Page, List<Control>>();
+        List<Control> all = new ArrayList<Control>();
+        for (Page item : pages) {
+            List<Control> controls = searchableControls(item);
+            if (controls != null) {
+                candidates.put(item, controls);
+                all.addAll(controls);
+            }
+        }
+        PageSnapshot snapshot = PageSnapshot.take(pages.get(0).getDriver(), all);
+        for (Map.Entry<Page, List<Control>> candidate : candidates.entrySet()) {
+            boolean matches = true;
+            for (Control control : candidate.getValue()) {
+                ControlState state = snapshot.get(control);
+                if (state != null && !state.exists()) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                for (Control control : candidate.getValue()) {
+                    if (snapshot.get(control) == null && !control.is(exists(1))) {
+                        matches = false;
+                        break;
+                    }
+                }
+            }
+            if (matches) {
+                return candidate.getKey();
+            }
+        }
+        return null;
+    }
     /**
      * <p>
      * Checks multiple page classes in order to identify which of the classes proposed
@@ -118,8 +210,26 @@ public final class Getters {
             Class<? extends Page>[] pageClasses, int tries) {
         return first(pageClasses, tries, false);
     }
+    private static Control find(Control[] controls, PageSnapshot snapshot) {
+        for (Control control : controls) {
+            if (control == null) {
+                continue;
+            }
+            ControlState state = null;
+            if (snapshot != null) {
+                state = snapshot.get(control);
+            }
+            if (state != null && state.exists() || state == null && control.is(exists(1))) {
+                return control;
+            }
+        }
+        return null;
+    }
     /**
      * Goes through the list of proposed controls and returns the first one which appears.
+     * For web platforms all controls are checked with single {@link PageSnapshot} per check
+     * and the checks are repeated by {@link WaitEngine} treating the limit of tries as the timeout
+     * in seconds.
      * @param controls the list of controls to look for first available in.
      * @param tries the limit of tries (similar to the timeout).
      * @return the first control object which appears to be existing.
@@ -129,14 +239,20 @@ public final class Getters {
 
             @Override
             public Control apply(Page page) {
-                for (int i = 0; i < tries; i++) {
-                    for (Control control : controls) {
-                        if (control.is(exists(1))) {
-                            return control;
+                if (!PageSnapshot.isSupported(page.getDriver())) {
+                    for (int i = 0; i < tries; i++) {
+                        Control result = find(controls, null);
+                        if (result != null) {
+                            return result;
                         }
                     }
+                    return null;
+                }
+                if (tries <= 0) {
+                    return null;
                 }
-                return null;
+                return WaitEngine.of(page.getDriver()).until(
+                        driver -> find(controls, PageSnapshot.take(driver, Arrays.asList(controls))), tries);
             }
         };
     }
@@ -206,7 +322,6 @@ public final class Getters {
 
             @Override
             public String apply(Control item) {
-                item.verify(exists());
                 return item.getText();
             }
         };
@@ -234,8 +349,7 @@ public final class Getters {
 
             @Override
             public String apply(Control item) {
-                item.verify(exists());
-                return item.element().getAttribute(name);
+                return item.withElement(Page.getTimeout(), element -> element.getAttribute(name));
             }
         };
     }
@@ -248,16 +362,17 @@ public final class Getters {
 
             @Override
             public Rectangle apply(Control item) {
-                item.verify(exists());
-                Rectangle rect = new Rectangle();
-                //Point location = ((MobileElement) item.element()).getCoordinates().onPage();
-                Point location = item.element().getLocation();
-                Dimension size = item.element().getSize();
-                rect.x = location.x;
-                rect.y = location.y;
-                rect.width = size.width;
-                rect.height = size.height;
-                return rect;
+                return item.withElement(Page.getTimeout(), element -> {
+                    Rectangle rect = new Rectangle();
+                    //Point location = ((MobileElement) item.element()).getCoordinates().onPage();
+                    Point location = element.getLocation();
+                    Dimension size = element.getSize();
+                    rect.x = location.x;
+                    rect.y = location.y;
+                    rect.width = size.width;
+                    rect.height = size.height;
+                    return rect;
+                });
             }
         };
     }
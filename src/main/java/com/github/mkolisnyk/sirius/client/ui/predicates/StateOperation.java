@@ -0,0 +1,148 @@
+package com.github.mkolisnyk.sirius.client.ui.predicates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.ui.ControlState;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot;
+import com.github.mkolisnyk.sirius.client.ui.WaitEngine;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+/**
+ * <p>
+ * Control state predicate which waits for the state during some timeout. In addition to the
+ * {@link Operation} it exposes the timeout and the condition the {@link ControlState} should meet,
+ * so that multiple predicates can be checked within single waiting loop
+ * (see {@link StateOperation#await(List, List, boolean, long)}).
+ * </p>
+ * @author Mykola Kolisnyk
+ */
+public abstract class StateOperation implements Operation<Boolean, Control> {
+    private final int timeout;
+    private final Predicate<ControlState> state;
+    private final IntFunction<StateOperation> factory;
+
+    /**
+     * Creates predicate.
+     * @param timeoutValue the time limit (in seconds) to wait for the state.
+     * @param stateValue the condition the control state captured by {@link PageSnapshot} should meet.
+     * @param factoryValue the function creating the same predicate with different timeout.
+     */
+    public StateOperation(int timeoutValue, Predicate<ControlState> stateValue,
+            IntFunction<StateOperation> factoryValue) {
+        this.timeout = timeoutValue;
+        this.state = stateValue;
+        this.factory = factoryValue;
+    }
+
+    /**
+     * Gets the time limit to wait for the state.
+     * @return the timeout in seconds.
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Gets the condition the control state should meet.
+     * @return the control state condition.
+     */
+    public Predicate<ControlState> getState() {
+        return state;
+    }
+
+    /**
+     * Creates the same predicate with different timeout.
+     * @param timeoutValue the new timeout.
+     * @return the predicate with new timeout.
+     */
+    public StateOperation withTimeout(int timeoutValue) {
+        return factory.apply(timeoutValue);
+    }
+
+    /**
+     * <p>
+     * Waits for multiple control states within single waiting loop. Each iteration takes single
+     * {@link PageSnapshot} of all controls and checks all predicates against it. Controls which cannot
+     * be captured by the snapshot are checked by the predicate with zero timeout.
+     * </p>
+     * @param controls the controls to check. Each control is checked with the predicate of the same index.
+     * @param operations the predicates to check.
+     * @param all true - all predicates should be met at the same time, false - any predicate should be met.
+     * @param timeout the time limit (in seconds) to wait for predicates to be met.
+     * @return true - if predicates are met, false - otherwise.
+     */
+    public static boolean await(List<Control> controls, List<StateOperation> operations, boolean all, long timeout) {
+        int index = poll(controls, operations, all, timeout);
+        if (all) {
+            return index < 0;
+        }
+        return index >= 0;
+    }
+
+    /**
+     * Waits for all control states within single waiting loop in the same way as
+     * {@link StateOperation#await(List, List, boolean, long)} does and identifies the predicate
+     * which prevented the wait from success.
+     * @param controls the controls to check. Each control is checked with the predicate of the same index.
+     * @param operations the predicates to check.
+     * @param timeout the time limit (in seconds) to wait for predicates to be met.
+     * @return the index of the first predicate which wasn't met during the last check or -1 if all
+     *      predicates are met.
+     */
+    public static int unmet(List<Control> controls, List<StateOperation> operations, long timeout) {
+        return poll(controls, operations, true, timeout);
+    }
+
+    private static int poll(List<Control> controls, List<StateOperation> operations, boolean all, long timeout) {
+        if (controls.isEmpty()) {
+            return -1;
+        }
+        WebDriver driver = controls.get(0).getDriver();
+        boolean useSnapshot = PageSnapshot.isSupported(driver);
+        List<StateOperation> instant = new ArrayList<StateOperation>();
+        for (StateOperation operation : operations) {
+            instant.add(operation.withTimeout(0));
+        }
+        final int[] last = new int[] {0};
+        Boolean result = WaitEngine.of(driver).until(current -> {
+            PageSnapshot snapshot = null;
+            if (useSnapshot) {
+                snapshot = PageSnapshot.take(current, controls);
+            }
+            for (int i = 0; i < controls.size(); i++) {
+                Control control = controls.get(i);
+                ControlState state = null;
+                if (snapshot != null) {
+                    state = snapshot.get(control);
+                }
+                boolean met = false;
+                if (state != null) {
+                    met = operations.get(i).getState().test(state);
+                } else {
+                    met = control.is(instant.get(i));
+                }
+                if (met != all) {
+                    last[0] = i;
+                    return met;
+                }
+            }
+            last[0] = -1;
+            return all;
+        }, timeout);
+        if (all) {
+            if (result != null) {
+                return -1;
+            }
+            return last[0];
+        }
+        if (result != null) {
+            return last[0];
+        }
+        return -1;
+    }
+}
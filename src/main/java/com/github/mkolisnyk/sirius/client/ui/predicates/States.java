@@ -1,12 +1,27 @@
 package com.github.mkolisnyk.sirius.client.ui.predicates;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
 
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 
 import com.github.mkolisnyk.sirius.client.Configuration;
 import com.github.mkolisnyk.sirius.client.ui.Alias;
+import com.github.mkolisnyk.sirius.client.ui.ControlState;
+import com.github.mkolisnyk.sirius.client.ui.ImplicitWait;
+import com.github.mkolisnyk.sirius.client.ui.LocatorRace;
+import com.github.mkolisnyk.sirius.client.ui.ObserverWait;
+import com.github.mkolisnyk.sirius.client.ui.ObserverWait.Condition;
 import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot.Expectation;
+import com.github.mkolisnyk.sirius.client.ui.TextLookup;
+import com.github.mkolisnyk.sirius.client.ui.WaitEngine;
 import com.github.mkolisnyk.sirius.client.ui.controls.Control;
 
 /**
@@ -16,6 +31,39 @@ import com.github.mkolisnyk.sirius.client.ui.controls.Control;
 public final class States {
     private States() {
     }
+
+    private static List<WebElement> probe(Control element) {
+        if (element.getAlternatives().length > 0) {
+            WebElement found = LocatorRace.find(element);
+            if (found == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(found);
+        }
+        return element.getDriver().findElements(element.getLocator());
+    }
+    private static boolean poll(Control element, Function<WebDriver, Boolean> condition, long timeout) {
+        return WaitEngine.of(element.getDriver()).untilMillis(condition, timeout) != null;
+    }
+    private static boolean isAbsent(Control element) {
+        return probe(element).isEmpty();
+    }
+    private static boolean isHidden(Control element) {
+        List<WebElement> elements = probe(element);
+        try {
+            return elements.isEmpty() || !elements.get(0).isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            return true;
+        }
+    }
+    private static boolean isNotClickable(Control element) {
+        List<WebElement> elements = probe(element);
+        try {
+            return elements.isEmpty() || !(elements.get(0).isDisplayed() && elements.get(0).isEnabled());
+        } catch (StaleElementReferenceException e) {
+            return true;
+        }
+    }
     /**
      * Makes sure if element is checked.
      * @return true - element checked, false otherwise.
@@ -26,13 +74,15 @@ public final class States {
             @Override
             public Boolean apply(Control element) {
                 element.verify(exists());
-                if (Configuration.platform().isIOSNative()) {
-                    String value = element.element().getAttribute("value");
-                    return value.equals("1");
-                } else {
-                    return element.element().getAttribute("checked").equals("true")
-                            || element.element().getAttribute("selected").equals("true");
-                }
+                return element.withElement(item -> {
+                    if (Configuration.platform().isIOSNative()) {
+                        String value = item.getAttribute("value");
+                        return value.equals("1");
+                    } else {
+                        return item.getAttribute("checked").equals("true")
+                                || item.getAttribute("selected").equals("true");
+                    }
+                });
             }
 
             @Override
@@ -47,15 +97,12 @@ public final class States {
      * @param timeout waiting timeout.
      * @return true - element exists, false - otherwise.
      */
-    public static Operation<Boolean, Control> exists(final int timeout) {
-        return new Operation<Boolean, Control>() {
+    public static StateOperation exists(final int timeout) {
+        return new StateOperation(timeout, ControlState::exists, States::exists) {
             @Override
             public Boolean apply(Control element) {
-                element.scrollTo();
-                return element.waitUntil(
-                        ExpectedConditions.presenceOfElementLocated(
-                                element.getLocator()),
-                        timeout);
+                return ObserverWait.await(element, Condition.EXISTS, timeout,
+                        remaining -> element.awaitElementMillis(remaining) != null);
             }
 
             @Override
@@ -74,18 +121,23 @@ public final class States {
         return exists(Page.getTimeout());
     }
     /**
-     * Checks if control doesn't exist
+     * Checks if control doesn't exist.
+     * The state is checked once with implicit wait switched off (see {@link ImplicitWait}) and
+     * the waiting loop is started only if the control isn't in the expected state yet.
      * @param timeout waiting timeout.
      * @return true - element exists, false - otherwise.
      */
-    public static Operation<Boolean, Control> disappears(final int timeout) {
-        return new Operation<Boolean, Control>() {
+    public static StateOperation disappears(final int timeout) {
+        return new StateOperation(timeout, state -> !state.exists(), States::disappears) {
             @Override
             public Boolean apply(Control element) {
-                return element.waitUntil(
-                        ExpectedConditions.not(ExpectedConditions.presenceOfElementLocated(
-                                element.getLocator())),
-                        timeout);
+                return ImplicitWait.paused(element.getDriver(), () -> {
+                    if (isAbsent(element)) {
+                        return true;
+                    }
+                    return ObserverWait.await(element, Condition.DISAPPEARS, timeout,
+                            remaining -> poll(element, driver -> isAbsent(element), remaining));
+                });
             }
 
             @Override
@@ -108,15 +160,14 @@ public final class States {
      * @param timeout waiting timeout.
      * @return true - element exists, false - otherwise.
      */
-    public static Operation<Boolean, Control> visible(final int timeout) {
-        return new Operation<Boolean, Control>() {
+    public static StateOperation visible(final int timeout) {
+        return new StateOperation(timeout, ControlState::isVisible, States::visible) {
             @Override
             public Boolean apply(Control element) {
-                element.scrollTo();
-                return element.waitUntil(
-                        ExpectedConditions.visibilityOfElementLocated(
-                                element.getLocator()),
-                        timeout);
+                return ObserverWait.await(element, Condition.VISIBLE, timeout, remaining -> {
+                    element.scrollTo();
+                    return poll(element, driver -> !isHidden(element), remaining);
+                });
             }
 
             @Override
@@ -136,17 +187,22 @@ public final class States {
     }
     /**
      * Checks if control is invisible.
+     * The state is checked once with implicit wait switched off (see {@link ImplicitWait}) and
+     * the waiting loop is started only if the control isn't in the expected state yet.
      * @param timeout waiting timeout.
      * @return true - element exists, false - otherwise.
      */
-    public static Operation<Boolean, Control> invisible(final int timeout) {
-        return new Operation<Boolean, Control>() {
+    public static StateOperation invisible(final int timeout) {
+        return new StateOperation(timeout, state -> !state.isVisible(), States::invisible) {
             @Override
             public Boolean apply(Control element) {
-                return element.waitUntil(
-                        ExpectedConditions.invisibilityOfElementLocated(
-                                element.getLocator()),
-                        timeout);
+                return ImplicitWait.paused(element.getDriver(), () -> {
+                    if (isHidden(element)) {
+                        return true;
+                    }
+                    return ObserverWait.await(element, Condition.INVISIBLE, timeout,
+                            remaining -> poll(element, driver -> isHidden(element), remaining));
+                });
             }
 
             @Override
@@ -169,15 +225,14 @@ public final class States {
      * @param timeout waiting timeout.
      * @return true - element exists, false - otherwise.
      */
-    public static Operation<Boolean, Control> enabled(final int timeout) {
-        return new Operation<Boolean, Control>() {
+    public static StateOperation enabled(final int timeout) {
+        return new StateOperation(timeout, ControlState::isClickable, States::enabled) {
             @Override
             public Boolean apply(Control element) {
-                element.scrollTo();
-                return element.waitUntil(
-                        ExpectedConditions.elementToBeClickable(
-                                element.getLocator()),
-                        timeout);
+                return ObserverWait.await(element, Condition.ENABLED, timeout, remaining -> {
+                    element.scrollTo();
+                    return poll(element, driver -> !isNotClickable(element), remaining);
+                });
             }
 
             @Override
@@ -197,18 +252,22 @@ public final class States {
     }
     /**
      * Checks if control is disabled.
+     * The state is checked once with implicit wait switched off (see {@link ImplicitWait}) and
+     * the waiting loop is started only if the control isn't in the expected state yet.
      * @param timeout waiting timeout.
      * @return true - element exists, false - otherwise.
      */
-    public static Operation<Boolean, Control> disabled(final int timeout) {
-        return new Operation<Boolean, Control>() {
+    public static StateOperation disabled(final int timeout) {
+        return new StateOperation(timeout, state -> !state.isClickable(), States::disabled) {
             @Override
             public Boolean apply(Control element) {
-                element.scrollTo();
-                return element.waitUntil(
-                        ExpectedConditions.not(
-                                ExpectedConditions.elementToBeClickable(element.getLocator())),
-                        timeout);
+                return ImplicitWait.paused(element.getDriver(), () -> {
+                    if (isNotClickable(element)) {
+                        return true;
+                    }
+                    return ObserverWait.await(element, Condition.DISABLED, timeout,
+                            remaining -> poll(element, driver -> isNotClickable(element), remaining));
+                });
             }
 
             @Override
@@ -227,7 +286,7 @@ public final class States {
         return disabled(Page.getTimeout());
     }
     /**
-     * Verifies if element has specific text.
+     * Verifies if element has specific text. The text is checked once.
      * @param text the text to check.
      * @return true if element has specified text. False - otherwise.
      */
@@ -272,8 +331,8 @@ public final class States {
      * Checks if some text is available on current page.
      * In a number of cases we just need to check that some labels are available or some text is shown.
      * It's too expensive to reserve dedicated field for each of such elements. But in order to make
-     * such check widely used the <b>isTextPresent</b> method gets such element dynamically and
-     * waits for element to appear.
+     * such check widely used the <b>isTextPresent</b> method looks for the text among all page texts
+     * gathered by {@link TextLookup} and waits for the text to appear.
      * @param text the text to check.
      * @return predicate which verifies text presence.
      */
@@ -281,8 +340,7 @@ public final class States {
         return new Operation<Boolean, Page>() {
             @Override
             public Boolean apply(Page page) {
-                Control element = page.getTextControl(text);
-                return element.is(exists());
+                return TextLookup.missing(page, Collections.singletonList(text), Page.getTimeout()).isEmpty();
             }
 
             @Override
@@ -306,6 +364,10 @@ public final class States {
      * method also checks if {@link FindBy#excludeFromSearch()} flag for each specific element
      * is set to <b>true</b>. If so, the corresponding control is not participating in check.
      * </p>
+     * <p>
+     * For web platforms the controls are checked using {@link PageSnapshot}, so each iteration
+     * checks all pending controls with single script call.
+     * </p>
      * @param timeout the timeout to wait for each element to appear.
      * @return true if all searched control on current page object are actually present.
      * @see {@link FindBy#excludeFromSearch()}
@@ -314,23 +376,33 @@ public final class States {
         return new Operation<Boolean, Page>() {
             @Override
             public Boolean apply(Page page) {
+                boolean useSnapshot = PageSnapshot.isSupported(page.getDriver());
+                List<Expectation> expectations = new ArrayList<Expectation>();
                 Field[] fields = page.getClass().getFields();
                 for (Field field : fields) {
                     if (Control.class.isAssignableFrom(field.getType())) {
                         Control control = null;
                         try {
                             System.out.println("Checking: " + field.getName());
-                            control = (Control) field.get(page);
+                            control = (Control) page.fieldValue(field);
                         } catch (Exception e) {
                             e.printStackTrace();
                         }
-                        if (control == null
-                            || !control.isExcludeFromSearch() && !control.is(exists(timeout))) {
+                        if (control == null) {
+                            return false;
+                        }
+                        if (control.isExcludeFromSearch()) {
+                            continue;
+                        }
+                        if (useSnapshot && PageSnapshot.isSupported(control)) {
+                            expectations.add(new Expectation(control, ControlState::exists, field.getName()));
+                        } else if (!control.is(exists(timeout))) {
                             return false;
                         }
                     }
                 }
-                return true;
+                return expectations.isEmpty()
+                        || PageSnapshot.await(page.getDriver(), expectations, timeout).isEmpty();
             }
 
             @Override
@@ -5,16 +5,22 @@ import static com.github.mkolisnyk.sirius.client.ui.predicates.Getters.first;
 
 import java.lang.reflect.Method;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang.StringUtils;
 import org.junit.Assert;
 
 import com.github.mkolisnyk.sirius.client.Context;
 import com.github.mkolisnyk.sirius.client.ui.Alias;
+import com.github.mkolisnyk.sirius.client.ui.ControlState;
 import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot.Expectation;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot.Mode;
 import com.github.mkolisnyk.sirius.client.ui.controls.Control;
 import com.github.mkolisnyk.sirius.client.ui.controls.Editable;
 import com.github.mkolisnyk.sirius.client.ui.predicates.Operation;
@@ -115,10 +121,13 @@ public class ControlSteps {
 
         List<Map<String, String>> content = criteria.asMaps(String.class,
                 String.class);
+        Page page = Page.getCurrent();
+        boolean useSnapshot = PageSnapshot.isSupported(page.getDriver());
+        List<Expectation> expectations = new ArrayList<Expectation>();
         for (Map<String, String> row : content) {
             Set<String> properties = row.keySet();
             String element = row.get("Element");
-            Control control = Page.getCurrent().field(element);
+            Control control = page.field(element);
             for (String property : properties) {
                 if (property.trim().equalsIgnoreCase("Element")) {
                     continue;
@@ -127,19 +136,92 @@ public class ControlSteps {
                 Assert.assertNotNull(String.format("Unable to find suitable operation for '%s'", property),
                         predicate);
                 String value = row.get(property);
+                Predicate<ControlState> condition = null;
+                if (useSnapshot && PageSnapshot.isSupported(control)) {
+                    condition = getSnapshotCondition(control, predicate.getAnnotation(Alias.class).value(), value);
+                }
                 if (predicate.getParameterCount() > 0 && StringUtils.isNotBlank(value)) {
-                    control.verify((Operation<Boolean, Control>) predicate.invoke(null, value));
+                    Operation<Boolean, Control> operation = (Operation<Boolean, Control>) predicate.invoke(null, value);
+                    if (condition != null) {
+                        expectations.add(new Expectation(control, condition,
+                                "Unable to verify that " + operation.description(control), Mode.ONCE));
+                    } else {
+                        control.verify(operation);
+                    }
                 } else {
                     if (StringUtils.isNotBlank(value) && !value.trim().equalsIgnoreCase("-")) {
                         Operation<Boolean, Control> operation = (Operation<Boolean, Control>) predicate.invoke(null);
                         boolean expectedValue = value.equalsIgnoreCase("Y");
-                        Assert.assertEquals("Unable to verify that " + operation.description(control),
-                                expectedValue,
-                                control.is(operation));
+                        if (condition != null) {
+                            Mode mode = Mode.NEVER;
+                            if (expectedValue) {
+                                mode = Mode.AWAIT;
+                            }
+                            expectations.add(new Expectation(control, condition,
+                                    "Unable to verify that " + operation.description(control)
+                                    + " Expected: " + expectedValue, mode));
+                        } else {
+                            Assert.assertEquals("Unable to verify that " + operation.description(control),
+                                    expectedValue,
+                                    control.is(operation));
+                        }
                     }
                 }
             }
         }
+        if (!expectations.isEmpty()) {
+            List<Expectation> failed = PageSnapshot.await(page.getDriver(), expectations, Page.getTimeout());
+            if (!failed.isEmpty()) {
+                Assert.fail(failed.get(0).getDescription());
+            }
+        }
+    }
+    /**
+     * Gets the condition to check the property of the control against the page snapshot.
+     * For the state properties (like <b>Visible</b>) the condition corresponds to the state itself
+     * regardless of the expected <b>Y</b> or <b>N</b> value, so that the row is resolved the same way
+     * as the state predicate does: <b>Y</b> means the state should be reached within the timeout
+     * while <b>N</b> means the state shouldn't be reached during the whole timeout.
+     * The text and the value are checked once and they are taken from the snapshot only if the control
+     * doesn't override the way they are retrieved, e.g. {@link com.github.mkolisnyk.sirius.client.ui.controls.Edit}
+     * returns the value as its text.
+     * @param control the control to check.
+     * @param property the property alias.
+     * @param value the expected property value.
+     * @return the condition or null if the property should be checked via WebDriver.
+     */
+    Predicate<ControlState> getSnapshotCondition(Control control, String property, String value) {
+        String name = property.trim();
+        if (name.equalsIgnoreCase("Has Text")) {
+            if (StringUtils.isBlank(value) || !PageSnapshot.isDefault(control, "getText")) {
+                return null;
+            }
+            return state -> state.exists() && value.equals(state.getText());
+        }
+        if (name.equalsIgnoreCase("Value")) {
+            if (StringUtils.isBlank(value) || !PageSnapshot.isDefault(control, "getValue")) {
+                return null;
+            }
+            return state -> state.exists() && value.equals(state.getValue());
+        }
+        if (StringUtils.isBlank(value) || value.trim().equalsIgnoreCase("-")) {
+            return null;
+        }
+        Predicate<ControlState> condition = null;
+        if (name.equalsIgnoreCase("Exists")) {
+            condition = ControlState::exists;
+        } else if (name.equalsIgnoreCase("Disappears")) {
+            condition = state -> !state.exists();
+        } else if (name.equalsIgnoreCase("Visible")) {
+            condition = state -> state.exists() && state.isVisible();
+        } else if (name.equalsIgnoreCase("Invisible")) {
+            condition = state -> !state.exists() || !state.isVisible();
+        } else if (name.equalsIgnoreCase("Enabled")) {
+            condition = ControlState::isClickable;
+        } else if (name.equalsIgnoreCase("Disabled")) {
+            condition = state -> !state.isClickable();
+        }
+        return condition;
     }
     /**
      * Checks whether at least one of the elements is available.
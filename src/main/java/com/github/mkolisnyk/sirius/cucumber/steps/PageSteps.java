@@ -1,6 +1,5 @@
 package com.github.mkolisnyk.sirius.cucumber.steps;
 
-import static com.github.mkolisnyk.sirius.client.ui.predicates.Actions.click;
 import static com.github.mkolisnyk.sirius.client.ui.predicates.States.current;
 import static com.github.mkolisnyk.sirius.client.ui.predicates.States.textPresent;
 
@@ -8,9 +7,12 @@ import java.util.List;
 import java.util.Map;
 
 import org.junit.Assert;
+import org.openqa.selenium.WebElement;
 
 import com.github.mkolisnyk.sirius.client.Driver;
+import com.github.mkolisnyk.sirius.client.ui.DomEpoch;
 import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.TextLookup;
 
 import cucumber.api.DataTable;
 import cucumber.api.java.en.Given;
@@ -74,9 +76,9 @@ public class PageSteps {
      */
     @Then("^(?:I should see |)the following labels are shown:$")
     public void verifyMultipleLabelsAvailability(List<String> elements) {
-        for (String element : elements) {
-            verifyTextPresent(element);
-        }
+        List<String> missing = TextLookup.missing(Page.getCurrent(), elements, Page.getTimeout());
+        Assert.assertTrue(String.format("Unable to verify that the following labels are present on the page: %s",
+                missing), missing.isEmpty());
     }
     /**
      * Populates current page with the data provided. All specified fields should have
@@ -114,7 +116,10 @@ public class PageSteps {
      */
     @When("^(?:I |)click on the \"([^\"]*)\" (?:text|label)$")
     public void clickOnText(String message) {
-        Page.getCurrent().getTextControl(message).perform(click());
+        WebElement element = TextLookup.find(Page.getCurrent(), message, Page.getTimeout());
+        Assert.assertNotNull(String.format("Unable to find the '%s' text on the page", message), element);
+        element.click();
+        DomEpoch.invalidate();
     }
 
 }
@@ -0,0 +1,40 @@
+package com.github.mkolisnyk.sirius.cucumber.steps;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.ui.TimeBudget;
+
+import cucumber.api.Scenario;
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+
+/**
+ * Cucumber-JVM hooks which limit the time all waits of each scenario may take. The limit
+ * is taken from {@link Configuration#scenarioBudget()}. If the option isn't defined
+ * no limit is applied.
+ * @author Mykola Kolisnyk
+ * @see TimeBudget
+ */
+public class TimeBudgetHooks {
+    /**
+     * Starts the time budget for the scenario.
+     * @param scenario the scenario to start budget for.
+     */
+    @Before
+    public void startBudget(Scenario scenario) {
+        long seconds = Configuration.scenarioBudget();
+        if (seconds > 0) {
+            TimeBudget.start(scenario.getName(), seconds);
+        }
+    }
+    /**
+     * Prints the time budget report and discards the budget.
+     */
+    @After
+    public void finishBudget() {
+        TimeBudget budget = TimeBudget.current();
+        if (budget != null && budget.isExhausted()) {
+            System.out.println(budget.report());
+        }
+        TimeBudget.clear();
+    }
+}
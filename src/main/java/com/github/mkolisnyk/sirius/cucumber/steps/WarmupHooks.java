@@ -0,0 +1,27 @@
+package com.github.mkolisnyk.sirius.cucumber.steps;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.ui.PageWarmup;
+
+import cucumber.api.java.Before;
+
+/**
+ * Cucumber-JVM hook which prepares all page classes before the first scenario
+ * of the test run. The page classes are taken from the package defined by
+ * {@link Configuration#pagesPackage()}. The hook runs after all other before hooks,
+ * so that configuration is already loaded, and it does actual work only once per JVM.
+ * @author Mykola Kolisnyk
+ * @see PageWarmup
+ */
+public class WarmupHooks {
+    /**
+     * Prepares all page classes from configured pages package.
+     */
+    @Before(order = Integer.MAX_VALUE)
+    public void warmUpPages() {
+        String pagesPackage = Configuration.pagesPackage();
+        if (pagesPackage != null && !pagesPackage.trim().equals("")) {
+            PageWarmup.warm(pagesPackage.trim());
+        }
+    }
+}
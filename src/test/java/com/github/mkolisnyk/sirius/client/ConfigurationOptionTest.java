@@ -22,6 +22,12 @@ public class ConfigurationOptionTest {
                 {"platform", ConfigurationOption.PLATFORM},
                 {"timeout", ConfigurationOption.TIMEOUT},
                 {"pages_package", ConfigurationOption.PAGES_PACKAGE},
+                {"pages_cache", ConfigurationOption.PAGES_CACHE},
+                {"polling_initial", ConfigurationOption.POLLING_INITIAL},
+                {"polling_max", ConfigurationOption.POLLING_MAX},
+                {"event_waits", ConfigurationOption.EVENT_WAITS},
+                {"script_timeout", ConfigurationOption.SCRIPT_TIMEOUT},
+                {"scenario_budget", ConfigurationOption.SCENARIO_BUDGET},
                 {"unknown", null},
         });
     }
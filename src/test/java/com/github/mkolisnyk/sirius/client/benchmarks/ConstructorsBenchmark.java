@@ -0,0 +1,74 @@
+package com.github.mkolisnyk.sirius.client.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.By;
+
+import com.github.mkolisnyk.sirius.client.ui.Constructors;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.controls.Edit;
+
+/**
+ * Compares control creation via reflective constructor lookup and invocation previously used by
+ * page factory and table sub-items with the factories generated by {@link Constructors}.
+ * Can be run as: <b>mvn test-compile exec:java -Dexec.mainClass=&lt;this class&gt; -Dexec.classpathScope=test</b>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructorsBenchmark {
+    private final By locator = By.id("username");
+    private Constructor<Edit> constructor;
+    private BiFunction<Page, By, Edit> factory;
+
+    @Setup
+    public void setUp() throws Exception {
+        constructor = Edit.class.getConstructor(Page.class, By.class);
+        factory = Constructors.control(Edit.class);
+    }
+
+    @Benchmark
+    public Edit reflectiveLookup() throws Exception {
+        return Edit.class.getConstructor(Page.class, By.class).newInstance(null, locator);
+    }
+
+    @Benchmark
+    public Edit reflectiveCached() throws Exception {
+        return constructor.newInstance(null, locator);
+    }
+
+    @Benchmark
+    public Edit lambdaFactory() throws Exception {
+        return factory.apply(null, locator);
+    }
+
+    @Benchmark
+    public Edit lambdaFactoryLookup() throws Exception {
+        return Constructors.control(Edit.class).apply(null, locator);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ConstructorsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
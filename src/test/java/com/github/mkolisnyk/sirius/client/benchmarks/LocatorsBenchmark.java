@@ -0,0 +1,87 @@
+package com.github.mkolisnyk.sirius.client.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.By;
+
+import com.github.mkolisnyk.sirius.client.ui.Locators;
+
+/**
+ * Compares regular expression based locator parsing previously used by page factory
+ * with the single-pass parser from {@link Locators}.
+ * Can be run as: <b>mvn test-compile exec:java -Dexec.mainClass=&lt;this class&gt; -Dexec.classpathScope=test</b>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorsBenchmark {
+    private final String[] inputs = new String[] {
+        "xpath=//div[@id='main']//a[text()='Sign In']",
+        "//table/tbody/tr",
+        "id=username",
+        "name=password",
+        "css=div.content > span.title",
+        "class=btn-primary",
+        "link=Log Out",
+        "submit_button",
+    };
+
+    private static By legacyLocator(String input) {
+        if (input.matches("^(xpath=|/)(.*)")) {
+            return By.xpath(input.replaceAll("^xpath=", ""));
+        } else if (input.matches("^id=(.*)")) {
+            return By.id(input.substring("id=".length()));
+        } else if (input.matches("^name=(.*)")) {
+            return By.name(input.substring("name=".length()));
+        } else if (input.matches("^css=(.*)")) {
+            return By.cssSelector(input.substring("css=".length()));
+        } else if (input.matches("^class=(.*)")) {
+            return By.className(input.substring("class=".length()));
+        } else if (input.matches("^link=(.*)")) {
+            return By.linkText(input.substring("link=".length()));
+        } else {
+            return By.id(input);
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole hole) {
+        for (String input : inputs) {
+            By locator = legacyLocator(input);
+            hole.consume(locator);
+            hole.consume(locator.toString().replaceFirst("^By\\.(\\S+): ", ""));
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole hole) {
+        for (String input : inputs) {
+            By locator = Locators.parse(input);
+            hole.consume(locator);
+            hole.consume(Locators.text(locator));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(LocatorsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.bdd.samples.pages.banking.HomePage;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.controls.Edit;
+
+public class ConstructorsTest {
+    private WebDriver driver;
+
+    public static class OuterPage extends Page {
+        public OuterPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+
+        public class InnerSection extends Page {
+            public InnerSection(WebDriver driverValue) {
+                super(driverValue);
+            }
+            public OuterPage getOuter() {
+                return OuterPage.this;
+            }
+        }
+    }
+    public static class ExtendedOuterPage extends OuterPage {
+        public ExtendedOuterPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+    }
+    public static class StaticSection extends Page {
+        public StaticSection(WebDriver driverValue) {
+            super(driverValue);
+        }
+    }
+    public static class NoDriverPage extends Page {
+        public NoDriverPage() {
+            super(null);
+        }
+    }
+
+    /**
+     * Class loader which defines the {@link StaticSection} class on its own, so that the class
+     * isn't visible from the library class loader.
+     */
+    private static class IsolatingClassLoader extends ClassLoader {
+        IsolatingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(StaticSection.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try {
+                    InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try {
+                        byte[] buffer = new byte[1024];
+                        int length = stream.read(buffer);
+                        while (length >= 0) {
+                            bytes.write(buffer, 0, length);
+                            length = stream.read(buffer);
+                        }
+                    } finally {
+                        stream.close();
+                    }
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new MockWebDriver();
+    }
+
+    @Test
+    public void testTopLevelPageIsCreated() throws Exception {
+        HomePage page = Constructors.page(HomePage.class).apply(driver);
+        Assert.assertEquals(HomePage.class, page.getClass());
+        Assert.assertSame(driver, page.getDriver());
+        Assert.assertSame(Constructors.page(HomePage.class), Constructors.page(HomePage.class));
+    }
+    @Test
+    public void testInnerSectionIsCreatedForOuterSubclass() throws Exception {
+        OuterPage outer = new ExtendedOuterPage(driver);
+        OuterPage.InnerSection section = Constructors.innerPage(OuterPage.InnerSection.class)
+                .apply(outer, driver);
+        Assert.assertSame(outer, section.getOuter());
+        Assert.assertSame(driver, section.getDriver());
+    }
+    @Test
+    public void testStaticNestedSectionIsCreated() throws Exception {
+        StaticSection section = Constructors.page(StaticSection.class).apply(driver);
+        Assert.assertSame(driver, section.getDriver());
+    }
+    @Test(expected = NoSuchMethodException.class)
+    public void testStaticNestedSectionHasNoInnerFactory() throws Exception {
+        Constructors.innerPage(StaticSection.class);
+    }
+    @Test
+    public void testControlSubtypeIsCreated() throws Exception {
+        Page page = new OuterPage(driver);
+        By locator = By.id("login");
+        Edit edit = Constructors.control(Edit.class).apply(page, locator);
+        Assert.assertEquals(Edit.class, edit.getClass());
+        Assert.assertSame(page, edit.getParent());
+        Assert.assertSame(locator, edit.getLocator());
+    }
+    @Test(expected = NoSuchMethodException.class)
+    public void testMissingConstructorIsReported() throws Exception {
+        Constructors.page(NoDriverPage.class);
+    }
+    @Test
+    public void testReflectiveFallbackForInvisibleClass() throws Exception {
+        Class<? extends Page> isolated = new IsolatingClassLoader(getClass().getClassLoader())
+                .loadClass(StaticSection.class.getName()).asSubclass(Page.class);
+        Assert.assertNotSame(StaticSection.class, isolated);
+        Function<WebDriver, ? extends Page> factory = Constructors.page(isolated);
+        Page page = factory.apply(driver);
+        Assert.assertEquals(isolated, page.getClass());
+        Assert.assertSame(driver, page.getDriver());
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.Driver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebElement;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class FrameTrackerTest {
+    private FrameWebDriver driver;
+
+    public static class FrameWebDriver extends MockWebDriver {
+        private List<String> switches = new ArrayList<String>();
+
+        @Override
+        public WebElement findElement(By by) {
+            return new MockWebElement();
+        }
+        @Override
+        public TargetLocator switchTo() {
+            final WebDriver self = this;
+            return new TargetLocator() {
+                @Override
+                public WebDriver frame(int index) {
+                    return self;
+                }
+                @Override
+                public WebDriver frame(String nameOrId) {
+                    return self;
+                }
+                @Override
+                public WebDriver frame(WebElement frameElement) {
+                    switches.add("frame");
+                    return self;
+                }
+                @Override
+                public WebDriver parentFrame() {
+                    switches.add("parent");
+                    return self;
+                }
+                @Override
+                public WebDriver window(String nameOrHandle) {
+                    return self;
+                }
+                @Override
+                public WebDriver defaultContent() {
+                    switches.add("default");
+                    return self;
+                }
+                @Override
+                public WebElement activeElement() {
+                    return null;
+                }
+                @Override
+                public Alert alert() {
+                    return null;
+                }
+            };
+        }
+        public List<String> getSwitches() {
+            return switches;
+        }
+    }
+    public static class ScriptFrameWebDriver extends FrameWebDriver implements JavascriptExecutor {
+        private boolean inFrame = true;
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            return inFrame;
+        }
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            return null;
+        }
+        public void setInFrame(boolean inFrameValue) {
+            this.inFrame = inFrameValue;
+        }
+    }
+    public static class OuterPage extends Page {
+        public OuterPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+        @FindBy(locator = "outer")
+        public Control frame;
+    }
+    public static class InnerPage extends Page {
+        public InnerPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+        @FindBy(locator = "inner")
+        public Control frame;
+    }
+    public static class NestedPage extends Page {
+        public NestedPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new FrameWebDriver();
+        FrameTracker.invalidate(driver);
+    }
+
+    @Test
+    public void testSwitchIsSkippedForCurrentFrame() throws Exception {
+        OuterPage outer = PageFactory.init(driver, OuterPage.class);
+        InnerPage inner = outer.frame.switchTo(InnerPage.class);
+        Assert.assertSame(inner, outer.frame.switchTo(InnerPage.class));
+        Assert.assertEquals(1, driver.getSwitches().size());
+    }
+    @Test
+    public void testNestedFrameIsEnteredFromTopLevel() throws Exception {
+        OuterPage outer = PageFactory.init(driver, OuterPage.class);
+        InnerPage inner = outer.frame.switchTo(InnerPage.class);
+        NestedPage nested = inner.frame.switchTo(NestedPage.class);
+        FrameTracker.reset(driver);
+        Assert.assertSame(nested, inner.frame.switchTo(NestedPage.class));
+        inner.frame.switchTo(NestedPage.class);
+        outer.frame.switchTo(InnerPage.class);
+        List<String> expected = new ArrayList<String>();
+        expected.add("frame");
+        expected.add("frame");
+        expected.add("frame");
+        expected.add("frame");
+        expected.add("parent");
+        Assert.assertEquals(expected, driver.getSwitches());
+    }
+    @Test
+    public void testFramesAreEnteredAgainAfterNavigation() throws Exception {
+        ScriptFrameWebDriver scriptDriver = new ScriptFrameWebDriver();
+        OuterPage outer = PageFactory.init(scriptDriver, OuterPage.class);
+        InnerPage inner = outer.frame.switchTo(InnerPage.class);
+        Assert.assertSame(inner, outer.frame.switchTo(InnerPage.class));
+        Assert.assertEquals(1, scriptDriver.getSwitches().size());
+        scriptDriver.setInFrame(false);
+        Assert.assertSame(inner, outer.frame.switchTo(InnerPage.class));
+        Assert.assertEquals(2, scriptDriver.getSwitches().size());
+        Assert.assertEquals("frame", scriptDriver.getSwitches().get(1));
+    }
+    @Test
+    public void testPreviousDriverIsInvalidatedOnInit() throws Exception {
+        Driver.init(driver);
+        OuterPage outer = PageFactory.init(driver, OuterPage.class);
+        outer.frame.switchTo(InnerPage.class);
+        Driver.init(new FrameWebDriver());
+        outer.frame.switchTo(InnerPage.class);
+        Assert.assertEquals(2, driver.getSwitches().size());
+    }
+}
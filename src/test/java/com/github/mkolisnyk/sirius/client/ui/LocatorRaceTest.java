@@ -0,0 +1,90 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.disappears;
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.invisible;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebElement;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class LocatorRaceTest {
+    private MatchingWebDriver driver;
+    private Control control;
+
+    public static class MatchingWebDriver extends MockWebDriver {
+        private Set<By> matching = new HashSet<By>();
+        private List<By> searches = new ArrayList<By>();
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            searches.add(by);
+            if (matching.contains(by)) {
+                return Collections.<WebElement>singletonList(new MockWebElement());
+            }
+            return Collections.<WebElement>emptyList();
+        }
+        public List<By> getSearches() {
+            return searches;
+        }
+        public void match(By... locators) {
+            matching.clear();
+            Collections.addAll(matching, locators);
+            searches.clear();
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new MatchingWebDriver();
+        control = new Control(new Page(driver), By.id("old"));
+        control.setAlternatives(By.id("new"), By.id("newest"));
+    }
+
+    @Test
+    public void testAllCandidatesAreTriedInSinglePass() {
+        driver.match(By.id("newest"));
+        Assert.assertNotNull(control.element());
+        Assert.assertEquals(3, driver.getSearches().size());
+        Assert.assertEquals(By.id("newest"), control.getLocator());
+        Assert.assertEquals(By.id("old"), control.getDeclaredLocator());
+    }
+    @Test
+    public void testLastMatchedCandidateIsTriedFirst() {
+        driver.match(By.id("new"));
+        Assert.assertNotNull(LocatorRace.find(control));
+        driver.match(By.id("new"), By.id("old"));
+        Assert.assertNotNull(LocatorRace.find(control));
+        Assert.assertEquals(1, driver.getSearches().size());
+        Assert.assertEquals(By.id("new"), driver.getSearches().get(0));
+    }
+    @Test
+    public void testNoCandidateMatches() {
+        driver.match();
+        Assert.assertNull(LocatorRace.find(control));
+        Assert.assertEquals(By.id("old"), control.getLocator());
+    }
+    @Test
+    public void testStatePredicatesCheckAllCandidates() {
+        driver.match(By.id("newest"));
+        Assert.assertFalse(control.is(disappears(0)));
+        Assert.assertTrue(control.is(invisible(0)));
+        driver.match();
+        Assert.assertTrue(control.is(disappears(0)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.openqa.selenium.By;
+
+@RunWith(Parameterized.class)
+public class LocatorsTest {
+
+    private String input;
+    private By expected;
+    private String expectedText;
+
+    @Parameters
+    public static Collection<Object[]> getParameters() {
+        return Arrays.asList(new Object[][] {
+                {"xpath=//div[@id='a=b']", By.xpath("//div[@id='a=b']"), "//div[@id='a=b']"},
+                {"//table/tbody/tr", By.xpath("//table/tbody/tr"), "//table/tbody/tr"},
+                {"id=username", By.id("username"), "username"},
+                {"name=password", By.name("password"), "password"},
+                {"css=div > span", By.cssSelector("div > span"), "div > span"},
+                {"class=btn", By.className("btn"), "btn"},
+                {"link=Log Out", By.linkText("Log Out"), "Log Out"},
+                {"submit", By.id("submit"), "submit"},
+                {"data=value", By.id("data=value"), "data=value"},
+        });
+    }
+
+    public LocatorsTest(String input, By expected, String expectedText) {
+        super();
+        this.input = input;
+        this.expected = expected;
+        this.expectedText = expectedText;
+    }
+
+    @Test
+    public void testParse() {
+        By locator = Locators.parse(input);
+        Assert.assertEquals(expected, locator);
+        Assert.assertSame(locator, Locators.parse(new String(input)));
+        Assert.assertEquals(expectedText, Locators.text(locator));
+        Assert.assertSame(Locators.text(locator), Locators.text(expected));
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.hasText;
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.visible;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebElement;
+import com.github.mkolisnyk.sirius.client.ui.ObserverWait.Condition;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+import com.github.mkolisnyk.sirius.client.ui.controls.Edit;
+
+public class ObserverWaitTest {
+    private AsyncWebDriver driver;
+    private Control login;
+
+    public static class AsyncWebDriver extends MockWebDriver implements JavascriptExecutor {
+        private List<List<Object>> requests = new ArrayList<List<Object>>();
+        private List<String> scripts = new ArrayList<String>();
+        private List<String> timeouts = new ArrayList<String>();
+        private Object response;
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            return null;
+        }
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            requests.add(Arrays.asList(args));
+            scripts.add(script);
+            if (response instanceof RuntimeException) {
+                throw (RuntimeException) response;
+            }
+            return response;
+        }
+        @Override
+        public Options manage() {
+            return (Options) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {Options.class, Timeouts.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set")) {
+                            timeouts.add(method.getName());
+                        }
+                        return proxy;
+                    });
+        }
+        @Override
+        public WebElement findElement(By by) {
+            return new MockWebElement() {
+                @Override
+                public String getAttribute(String name) {
+                    return "secret";
+                }
+            };
+        }
+        public List<List<Object>> getRequests() {
+            return requests;
+        }
+        public List<String> getScripts() {
+            return scripts;
+        }
+        public List<String> getTimeouts() {
+            return timeouts;
+        }
+        public void respond(Object value) {
+            this.response = value;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/event_config.properties");
+        Configuration.load();
+        driver = new AsyncWebDriver();
+        login = new Control(new Page(driver), By.id("login"));
+    }
+    @After
+    public void tearDown() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+    }
+
+    @Test
+    public void testStateIsWaitedWithSingleScript() {
+        driver.respond(true);
+        Assert.assertTrue(login.is(visible(1)));
+        Assert.assertEquals(1, driver.getRequests().size());
+        Assert.assertEquals(Arrays.asList(Arrays.asList("id", "login")), driver.getRequests().get(0).get(0));
+        Assert.assertEquals("visible", driver.getRequests().get(0).get(1));
+    }
+    @Test
+    public void testScriptRechecksStateAndKeepsDriverTimeouts() {
+        driver.respond(true);
+        Assert.assertTrue(login.is(visible(1)));
+        Assert.assertTrue(driver.getScripts().get(0).contains("setInterval(function()"));
+        Assert.assertTrue(driver.getTimeouts().isEmpty());
+    }
+    @Test
+    public void testTextIsCheckedViaDriver() {
+        Edit password = new Edit(login.getParent(), By.id("password"));
+        driver.respond(false);
+        Assert.assertTrue(password.is(hasText("secret")));
+        Assert.assertTrue(driver.getRequests().isEmpty());
+    }
+    @Test
+    public void testUnsupportedDriverFallsBackToPolling() {
+        final List<Long> fallbacks = new ArrayList<Long>();
+        driver.respond(new UnsupportedCommandException("Async scripts are not supported"));
+        Assert.assertFalse(ObserverWait.await(login, Condition.EXISTS, 1, remaining -> {
+            fallbacks.add(remaining);
+            return false;
+        }));
+        Assert.assertFalse(ObserverWait.isSupported(login));
+        Assert.assertTrue(ObserverWait.await(login, Condition.EXISTS, 1, remaining -> {
+            fallbacks.add(remaining);
+            return true;
+        }));
+        Assert.assertEquals(1, driver.getRequests().size());
+        Assert.assertEquals(2, fallbacks.size());
+    }
+    @Test
+    public void testFailedScriptFallsBackForRemainingTime() {
+        final List<Long> fallbacks = new ArrayList<Long>();
+        driver.respond(new WebDriverException("Script timeout"));
+        Assert.assertTrue(ObserverWait.await(login, Condition.EXISTS, 1, remaining -> {
+            fallbacks.add(remaining);
+            return true;
+        }));
+        Assert.assertEquals(1, fallbacks.size());
+        Assert.assertTrue(fallbacks.get(0) <= 1000L);
+        Assert.assertTrue(ObserverWait.isSupported(login));
+        ObserverWait.await(login, Condition.EXISTS, 1, remaining -> true);
+        Assert.assertEquals(2, driver.getRequests().size());
+    }
+    @Test
+    public void testShortScriptTimeoutFallsBackToPolling() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/short_script_config.properties");
+        Configuration.load();
+        final List<Long> fallbacks = new ArrayList<Long>();
+        driver.respond(false);
+        Assert.assertTrue(ObserverWait.await(login, Condition.EXISTS, 1, remaining -> {
+            fallbacks.add(remaining);
+            return true;
+        }));
+        Assert.assertTrue(driver.getRequests().isEmpty());
+        Assert.assertEquals(Arrays.asList(1000L), fallbacks);
+    }
+}
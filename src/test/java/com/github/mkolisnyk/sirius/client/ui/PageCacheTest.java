@@ -0,0 +1,73 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.Driver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshotTest.ScriptWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.PageFactoryTest.SamplePlainPage;
+
+public class PageCacheTest {
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        PageCache.reset();
+    }
+
+    @Test
+    public void testSamePageIsReturnedForSameDriver() throws Exception {
+        WebDriver driver = new MockWebDriver();
+        SamplePlainPage page = PageCache.get(driver, SamplePlainPage.class);
+        Assert.assertNotNull(page);
+        Assert.assertSame(page, PageCache.get(driver, SamplePlainPage.class));
+    }
+    @Test
+    public void testNewPageIsCreatedForAnotherDriver() throws Exception {
+        SamplePlainPage page = PageCache.get(new MockWebDriver(), SamplePlainPage.class);
+        Assert.assertNotSame(page, PageCache.get(new MockWebDriver(), SamplePlainPage.class));
+    }
+    @Test
+    public void testDriverInitInvalidatesPages() throws Exception {
+        WebDriver driver = new MockWebDriver();
+        SamplePlainPage page = PageCache.get(driver, SamplePlainPage.class);
+        Driver.init(driver);
+        Assert.assertNotSame(page, PageCache.get(driver, SamplePlainPage.class));
+    }
+    @Test
+    public void testSamePageIsReturnedForSameDocument() throws Exception {
+        ScriptWebDriver driver = new ScriptWebDriver();
+        driver.respond("first");
+        driver.respond("first");
+        SamplePlainPage page = PageCache.get(driver, SamplePlainPage.class);
+        Assert.assertSame(page, PageCache.get(driver, SamplePlainPage.class));
+    }
+    @Test
+    public void testNewPageIsCreatedAfterNavigation() throws Exception {
+        ScriptWebDriver driver = new ScriptWebDriver();
+        driver.respond("first");
+        driver.respond("second");
+        SamplePlainPage page = PageCache.get(driver, SamplePlainPage.class);
+        Assert.assertNotSame(page, PageCache.get(driver, SamplePlainPage.class));
+    }
+    @Test
+    public void testNewPageIsCreatedForAnotherWindow() throws Exception {
+        final String[] handle = new String[] {"first"};
+        WebDriver driver = new MockWebDriver() {
+            @Override
+            public String getWindowHandle() {
+                return handle[0];
+            }
+        };
+        SamplePlainPage page = PageCache.get(driver, SamplePlainPage.class);
+        Assert.assertSame(page, PageCache.get(driver, SamplePlainPage.class));
+        handle[0] = "second";
+        Assert.assertNotSame(page, PageCache.get(driver, SamplePlainPage.class));
+    }
+}
@@ -51,6 +51,30 @@ public class PageFactoryTest {
         @Alias("Sub-Page")
         public SubPage subPage;
     }
+    @Lazy
+    public static class LazyPage extends Page {
+
+        public LazyPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+
+        public class LazySubPage extends Page {
+
+            public LazySubPage(WebDriver driverValue) {
+                super(driverValue);
+            }
+            @FindBy(locator = "css=test")
+            @Alias("Sub-Page Label")
+            public Control labelSubPageSample;
+        }
+
+        @FindBy(locator = "name=test")
+        @Alias("Label")
+        public Control labelSample;
+
+        @Alias("Sub-Page")
+        public LazySubPage subPage;
+    }
     @Before
     public void setUp() throws IOException {
         Configuration.setDefaultConfigFile("src/test/resources/config.properties");
@@ -84,6 +108,44 @@ public class PageFactoryTest {
         Assert.assertNull(Page.forName("Nested"));
     }
     @Test
+    public void testLazyPageCreatesFieldsOnFirstAccess() throws Exception {
+        LazyPage sample = PageFactory.init(new MockWebDriver(), LazyPage.class);
+        Assert.assertTrue(sample.isLazy());
+        Assert.assertNull(sample.labelSample);
+        Assert.assertNull(sample.subPage);
+        Control label = sample.field("Label");
+        Assert.assertNotNull(label);
+        Assert.assertSame(label, sample.labelSample);
+        Assert.assertSame(label, sample.field("Label"));
+        Assert.assertNull(sample.subPage);
+        LazyPage.LazySubPage subPage = sample.section("Sub-Page", LazyPage.LazySubPage.class);
+        Assert.assertSame(subPage, sample.subPage);
+        Assert.assertTrue(subPage.isLazy());
+        Assert.assertNull(subPage.labelSubPageSample);
+        Assert.assertNotNull(subPage.field("Sub-Page Label"));
+        Assert.assertSame(subPage, subPage.labelSubPageSample.getParent());
+    }
+    @Test
+    public void testFieldLookupByNestedPath() throws Exception {
+        LazyPage sample = PageFactory.init(new MockWebDriver(), LazyPage.class);
+        Control label = sample.field("Sub-Page.Sub-Page Label");
+        Assert.assertNotNull(label);
+        Assert.assertSame(label, sample.subPage.labelSubPageSample);
+        Assert.assertSame(sample.subPage, sample.section("Sub-Page"));
+        Assert.assertNull(sample.field("Sub-Page"));
+        Assert.assertNull(sample.section("Label"));
+        Assert.assertNull(sample.field("Sub-Page.Label"));
+    }
+    @Test
+    public void testPagesShareResolvedLocators() throws Exception {
+        SamplePlainPage first = PageFactory.init(new MockWebDriver(), SamplePlainPage.class);
+        SamplePlainPage second = PageFactory.init(new MockWebDriver(), SamplePlainPage.class);
+        Assert.assertNotSame(first.labelSample, second.labelSample);
+        Assert.assertSame(first.labelSample.getLocator(), second.labelSample.getLocator());
+        Assert.assertSame(first, first.labelSample.getParent());
+        Assert.assertSame(second, second.labelSample.getParent());
+    }
+    @Test
     public void testInitNestedPageLevel2() throws Exception {
         HomePage home = PageFactory.init(new MockWebDriver(), HomePage.class);
         Assert.assertNotNull(home);
@@ -0,0 +1,105 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.bdd.samples.pages.banking.HomePage;
+
+public class PageMetadataCacheTest {
+    private static final String PAGES_PACKAGE = "com.github.mkolisnyk.sirius.client.bdd.samples.pages";
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.load("src/test/resources/cache_config.properties");
+        new File(Configuration.pagesCache()).delete();
+        PageMetadataCache.reset();
+    }
+    @After
+    public void tearDown() throws IOException {
+        PageMetadataCache.reset();
+        new File(Configuration.pagesCache()).delete();
+        Configuration.load("src/test/resources/config.properties");
+    }
+
+    @Test
+    public void testRegistryIsRestoredWithoutScanning() throws Exception {
+        final AtomicInteger scans = new AtomicInteger();
+        final Set<Class<? extends Page>> index = new HashSet<Class<? extends Page>>();
+        index.add(HomePage.class);
+        PageMetadataCache.pages(PAGES_PACKAGE, pagesPackage -> {
+            scans.incrementAndGet();
+            return index;
+        });
+        PageMetadataCache.save();
+        PageMetadataCache.reset();
+        Set<Class<? extends Page>> restored = PageMetadataCache.pages(PAGES_PACKAGE, pagesPackage -> {
+            scans.incrementAndGet();
+            return index;
+        });
+        Assert.assertEquals(1, scans.get());
+        Assert.assertEquals(index, restored);
+    }
+    private File createJar(String... entries) throws IOException {
+        File jar = File.createTempFile("pages", ".jar");
+        jar.deleteOnExit();
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new JarEntry(entries[i]));
+                out.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return jar;
+    }
+    @Test
+    public void testFingerprintDependsOnClassContent() throws Exception {
+        File root = Files.createTempDirectory("pages").toFile();
+        File page = new File(root, "sample/pages/HomePage.class");
+        page.getParentFile().mkdirs();
+        Files.write(page.toPath(), "AAAA".getBytes(StandardCharsets.UTF_8));
+        long modified = page.lastModified();
+        String initial = PageMetadataCache.fingerprint("sample.pages", Arrays.asList(root));
+        Files.write(page.toPath(), "BBBB".getBytes(StandardCharsets.UTF_8));
+        page.setLastModified(modified);
+        Assert.assertNotEquals(initial, PageMetadataCache.fingerprint("sample.pages", Arrays.asList(root)));
+        page.delete();
+        page.getParentFile().delete();
+        page.getParentFile().getParentFile().delete();
+        root.delete();
+    }
+    @Test
+    public void testFingerprintCoversJarWithoutDirectoryEntries() throws Exception {
+        File first = createJar("sample/pages/HomePage.class", "AAAA");
+        File second = createJar("sample/pages/HomePage.class", "BBBB");
+        File empty = createJar("other/Page.class", "AAAA");
+        Assert.assertNotEquals(PageMetadataCache.fingerprint("sample.pages", Arrays.asList(first)),
+                PageMetadataCache.fingerprint("sample.pages", Arrays.asList(second)));
+        Assert.assertNotEquals(PageMetadataCache.fingerprint("sample.pages", Arrays.asList(first)),
+                PageMetadataCache.fingerprint("sample.pages", Arrays.asList(empty)));
+    }
+    @Test
+    public void testFingerprintIgnoresPackagesWithSamePrefix() throws Exception {
+        File base = createJar("sample/pages/HomePage.class", "AAAA");
+        File extended = createJar("sample/pages/HomePage.class", "AAAA", "sample/pagesextra/Page.class", "BBBB");
+        Assert.assertEquals(PageMetadataCache.fingerprint("sample.pages", Arrays.asList(base)),
+                PageMetadataCache.fingerprint("sample.pages", Arrays.asList(extended)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.mkolisnyk.sirius.client.bdd.samples.pages.banking.CustomersPage;
+import com.github.mkolisnyk.sirius.client.bdd.samples.pages.banking.HomePage;
+import com.github.mkolisnyk.sirius.client.ui.indexed.IndexedPage;
+
+public class PageRegistryTest {
+    private static final String PAGES_PACKAGE = "com.github.mkolisnyk.sirius.client.bdd.samples.pages";
+
+    @Before
+    public void setUp() {
+        PageRegistry.reset();
+    }
+
+    @Test
+    public void testGetPageByAlias() {
+        Assert.assertEquals(HomePage.class, PageRegistry.get("Banking Home", PAGES_PACKAGE));
+        Assert.assertEquals(CustomersPage.class, PageRegistry.get("Customers", PAGES_PACKAGE));
+    }
+    @Test
+    public void testGetNonExistingPage() {
+        Assert.assertNull(PageRegistry.get("Non Existing", PAGES_PACKAGE));
+    }
+    @Test
+    public void testMemberClassesAreSkipped() {
+        Assert.assertNull(PageRegistry.get("Nested", "com.github.mkolisnyk.sirius.client.ui"));
+    }
+    @Test
+    public void testWarmReusesIndex() {
+        Map<String, Class<? extends Page>> first = PageRegistry.warm(PAGES_PACKAGE);
+        Map<String, Class<? extends Page>> second = PageRegistry.warm(PAGES_PACKAGE);
+        Assert.assertSame(first, second);
+    }
+    @Test
+    public void testPagesAreListedOnce() {
+        Set<Class<? extends Page>> pages = PageRegistry.pages(PAGES_PACKAGE);
+        Assert.assertTrue(pages.contains(HomePage.class));
+        Assert.assertTrue(pages.contains(CustomersPage.class));
+        Assert.assertSame(pages, PageRegistry.pages(PAGES_PACKAGE));
+    }
+    @Test
+    public void testRefreshRebuildsIndex() {
+        Map<String, Class<? extends Page>> first = PageRegistry.warm(PAGES_PACKAGE);
+        Map<String, Class<? extends Page>> second = PageRegistry.refresh(PAGES_PACKAGE);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+        Assert.assertSame(second, PageRegistry.warm(PAGES_PACKAGE));
+    }
+    @Test
+    public void testGeneratedIndexIsUsedWithoutScanning() {
+        String indexedPackage = "com.github.mkolisnyk.sirius.client.ui.indexed";
+        Assert.assertEquals(IndexedPage.class, PageRegistry.get("Indexed", indexedPackage));
+        Assert.assertNull(PageRegistry.get("Not Indexed", indexedPackage));
+        Set<Class<? extends Page>> pages = PageRegistry.pages(indexedPackage);
+        Assert.assertEquals(1, pages.size());
+        Assert.assertTrue(pages.contains(IndexedPage.class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot.Expectation;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshot.Mode;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class PageSnapshotTest {
+    private ScriptWebDriver driver;
+    private Control login;
+    private Control password;
+    private long now;
+
+    public static class ScriptWebDriver extends MockWebDriver implements JavascriptExecutor {
+        private List<List<?>> requests = new ArrayList<List<?>>();
+        private List<Object> responses = new ArrayList<Object>();
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            if (args.length > 0 && args[0] instanceof List) {
+                requests.add((List<?>) args[0]);
+            }
+            return responses.remove(0);
+        }
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            return null;
+        }
+        public List<List<?>> getRequests() {
+            return requests;
+        }
+        public void respond(Object response) {
+            responses.add(response);
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new ScriptWebDriver();
+        Page page = new Page(driver);
+        login = new Control(page, By.id("login"));
+        password = new Control(page, By.xpath("//input[@type='password']"));
+    }
+
+    @Test
+    public void testAllControlsAreCapturedWithSingleScript() {
+        driver.respond(Arrays.asList(
+                Arrays.asList(true, true, false, "Login", "user"),
+                Arrays.asList(false, false, false, "", null)));
+        PageSnapshot snapshot = PageSnapshot.take(driver, Arrays.asList(login, password));
+        Assert.assertEquals(1, driver.getRequests().size());
+        Assert.assertEquals(Arrays.asList(Arrays.asList("id", "login")), driver.getRequests().get(0).get(0));
+        Assert.assertEquals(Arrays.asList(Arrays.asList("xpath", "//input[@type='password']")),
+                driver.getRequests().get(0).get(1));
+        ControlState state = snapshot.get(login);
+        Assert.assertTrue(state.exists());
+        Assert.assertTrue(state.isVisible());
+        Assert.assertFalse(state.isClickable());
+        Assert.assertEquals("Login", state.getText());
+        Assert.assertEquals("user", state.getValue());
+        Assert.assertSame(ControlState.MISSING, snapshot.get(password));
+    }
+    @Test
+    public void testOnlyPendingControlsArePolledAgain() {
+        driver.respond(Arrays.asList(
+                Arrays.asList(true, true, true, "", null),
+                Arrays.asList(false, false, false, "", null)));
+        driver.respond(Arrays.asList(
+                Arrays.asList(true, true, true, "", null)));
+        List<Expectation> failed = PageSnapshot.await(driver, Arrays.asList(
+                new Expectation(login, ControlState::exists, "login"),
+                new Expectation(password, ControlState::exists, "password")), 1);
+        Assert.assertTrue(failed.isEmpty());
+        Assert.assertEquals(2, driver.getRequests().size());
+        Assert.assertEquals(1, driver.getRequests().get(1).size());
+        Assert.assertEquals(Arrays.asList(Arrays.asList("xpath", "//input[@type='password']")),
+                driver.getRequests().get(1).get(0));
+    }
+    @Test
+    public void testAllCandidateLocatorsArePassedToScript() {
+        login.setAlternatives(By.name("login"), By.id("login"));
+        driver.respond(Arrays.asList(Arrays.asList(true, true, true, "", null)));
+        Assert.assertTrue(PageSnapshot.take(driver, Arrays.asList(login)).get(login).exists());
+        Assert.assertEquals(Arrays.asList(Arrays.asList("id", "login"), Arrays.asList("name", "login")),
+                driver.getRequests().get(0).get(0));
+    }
+    private void useFakeClock() {
+        now = 0L;
+        WaitEngine engine = WaitEngine.of(driver);
+        engine.setClock(() -> now);
+        engine.setSleeper(millis -> now += millis);
+    }
+    @Test
+    public void testOnceExpectationIsCheckedAgainstFirstSnapshot() {
+        driver.respond(Arrays.asList(
+                Arrays.asList(true, true, true, "Wait", null),
+                Arrays.asList(false, false, false, "", null)));
+        Expectation text = new Expectation(login, state -> "Login".equals(state.getText()), "text", Mode.ONCE);
+        List<Expectation> failed = PageSnapshot.await(driver, Arrays.asList(text,
+                new Expectation(password, ControlState::exists, "password")), 1);
+        Assert.assertEquals(Arrays.asList(text), failed);
+        Assert.assertEquals(1, driver.getRequests().size());
+    }
+    @Test
+    public void testNeverExpectationFailsOnceStateIsReached() {
+        driver.respond(Arrays.asList(Arrays.asList(true, false, true, "", null)));
+        driver.respond(Arrays.asList(Arrays.asList(true, true, true, "", null)));
+        Expectation visible = new Expectation(login, ControlState::isVisible, "visible", Mode.NEVER);
+        Assert.assertEquals(Arrays.asList(visible), PageSnapshot.await(driver, Arrays.asList(visible), 1));
+        Assert.assertEquals(2, driver.getRequests().size());
+    }
+    @Test
+    public void testNeverExpectationIsCheckedDuringWholeTimeout() {
+        useFakeClock();
+        for (int i = 0; i < 20; i++) {
+            driver.respond(Arrays.asList(Arrays.asList(true, false, true, "", null)));
+        }
+        Expectation visible = new Expectation(login, ControlState::isVisible, "visible", Mode.NEVER);
+        Assert.assertTrue(PageSnapshot.await(driver, Arrays.asList(visible), 1).isEmpty());
+        Assert.assertEquals(1000L, WaitEngine.of(driver).getLastMetrics().getElapsed());
+        Assert.assertTrue(driver.getRequests().size() > 1);
+    }
+}
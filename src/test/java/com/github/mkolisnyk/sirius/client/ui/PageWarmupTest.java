@@ -0,0 +1,34 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.bdd.samples.pages.banking.CustomersPage;
+import com.github.mkolisnyk.sirius.client.bdd.samples.pages.banking.HomePage;
+
+public class PageWarmupTest {
+    private static final String PAGES_PACKAGE = "com.github.mkolisnyk.sirius.client.bdd.samples.pages";
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        PageWarmup.reset();
+    }
+
+    @Test
+    public void testAllPagesAreWarmedUp() {
+        Map<String, Long> report = PageWarmup.warm(PAGES_PACKAGE);
+        Assert.assertTrue(report.containsKey(HomePage.class.getName()));
+        Assert.assertTrue(report.containsKey(CustomersPage.class.getName()));
+    }
+    @Test
+    public void testWarmupRunsOnce() {
+        Assert.assertSame(PageWarmup.warm(PAGES_PACKAGE), PageWarmup.warm(PAGES_PACKAGE));
+    }
+}
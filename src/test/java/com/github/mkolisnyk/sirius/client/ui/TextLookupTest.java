@@ -0,0 +1,69 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshotTest.ScriptWebDriver;
+
+public class TextLookupTest {
+    private ScriptWebDriver driver;
+    private Page page;
+
+    public static class SourceWebDriver extends MockWebDriver {
+        private final String source;
+
+        public SourceWebDriver(String sourceValue) {
+            this.source = sourceValue;
+        }
+        @Override
+        public String getPageSource() {
+            return source;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new ScriptWebDriver();
+        page = new Page(driver);
+    }
+
+    @Test
+    public void testAllLabelsAreCheckedWithSingleQuery() {
+        driver.respond(Arrays.asList("doc:1", "Hello world", "Login"));
+        Assert.assertEquals(Collections.singletonList("Logout"),
+                TextLookup.missing(page, Arrays.asList("Hello", "Login", "Logout"), 0));
+    }
+    @Test
+    public void testTextsAreReusedWhileDomIsNotChanged() {
+        driver.respond(Arrays.asList("doc:1", "Hello world"));
+        driver.respond(Arrays.asList("doc:1"));
+        Assert.assertEquals(Arrays.asList("Hello world"), TextLookup.texts(driver));
+        Assert.assertEquals(Arrays.asList("Hello world"), TextLookup.texts(driver));
+    }
+    @Test
+    public void testHiddenTextIsNotShown() {
+        Page mobile = new Page(new SourceWebDriver("<hierarchy>"
+                + "<node text=\"Login\" displayed=\"true\"/>"
+                + "<node text=\"Secret\" displayed=\"false\"><node text=\"Inner\" displayed=\"true\"/></node>"
+                + "<node content-desc=\"Hint\" visible=\"false\"/>"
+                + "</hierarchy>"));
+        Assert.assertEquals(Arrays.asList("Secret", "Hint"),
+                TextLookup.missing(mobile, Arrays.asList("Login", "Secret", "Inner", "Hint"), 0));
+    }
+    @Test
+    public void testTextSplitAcrossChildElementsIsMatchedByParts() {
+        SourceWebDriver source = new SourceWebDriver("<html><body><p>Hello <b>world</b></p></body></html>");
+        Assert.assertEquals(Arrays.asList("Hello", "world"), TextLookup.texts(source));
+        Assert.assertEquals(Collections.singletonList("Hello world"),
+                TextLookup.missing(new Page(source), Arrays.asList("Hello world", "Hello", "world"), 0));
+    }
+}
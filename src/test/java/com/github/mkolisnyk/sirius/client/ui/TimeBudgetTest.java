@@ -0,0 +1,74 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.predicates.Operation;
+
+public class TimeBudgetTest {
+    private WebDriver driver;
+    private WaitEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new MockWebDriver();
+        engine = WaitEngine.of(driver);
+        engine.setPolling(1L, 1L);
+    }
+    @After
+    public void tearDown() {
+        TimeBudget.clear();
+    }
+
+    @Test
+    public void testExhaustedBudgetMakesSingleCheck() {
+        TimeBudget.start("Scenario", 0);
+        Assert.assertNull(TimeBudget.measure(() -> "Wait for nothing", () -> engine.until(driver -> false, 10)));
+        Assert.assertEquals(1, engine.getLastMetrics().getPolls());
+        Assert.assertTrue(TimeBudget.current().isExhausted());
+        Assert.assertTrue(TimeBudget.current().getUsage().containsKey("Wait for nothing"));
+        Assert.assertTrue(TimeBudget.explain("Failed.").contains("'Wait for nothing'"));
+    }
+    @Test
+    public void testOverrideIsRestoredAndChargesOuterBudget() {
+        TimeBudget scenario = TimeBudget.start("Scenario", 0);
+        try (TimeBudget step = TimeBudget.override("Step", 60)) {
+            Assert.assertSame(step, TimeBudget.current());
+            Assert.assertFalse(step.isExhausted());
+            TimeBudget.measure(() -> "Outer", () -> TimeBudget.measure(() -> "Nested", () -> true));
+            Assert.assertEquals(1, step.getUsage().size());
+        }
+        Assert.assertSame(scenario, TimeBudget.current());
+        Assert.assertTrue(scenario.getUsage().containsKey("Outer"));
+        Assert.assertFalse(scenario.getUsage().containsKey("Nested"));
+    }
+    @Test
+    public void testVerificationReportsBudgetExhaustedByPredicate() {
+        TimeBudget.start("Scenario", 1);
+        Operation<Boolean, Page> slow = new Operation<Boolean, Page>() {
+            @Override
+            public Boolean apply(Page page) {
+                return engine.until(current -> false, 10) != null;
+            }
+            @Override
+            public String description(Page parameter) {
+                return "the page is ready.";
+            }
+        };
+        try {
+            new Page(driver).verify(slow);
+            Assert.fail("Verification is expected to fail");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("is exhausted"));
+        }
+    }
+}
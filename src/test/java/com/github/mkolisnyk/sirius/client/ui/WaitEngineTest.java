@@ -0,0 +1,80 @@
+package com.github.mkolisnyk.sirius.client.ui;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+
+public class WaitEngineTest {
+    private WebDriver driver;
+    private WaitEngine engine;
+    private List<Long> pauses;
+    private long[] now;
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new MockWebDriver();
+        engine = WaitEngine.of(driver);
+        pauses = new ArrayList<Long>();
+        now = new long[] {0L};
+        engine.setPolling(10L, 80L);
+        engine.setClock(() -> now[0]);
+        engine.setSleeper(millis -> {
+            pauses.add(millis);
+            now[0] += millis;
+        });
+    }
+
+    @Test
+    public void testMetConditionDoesNotWait() {
+        Assert.assertEquals("done", engine.until(driver -> "done", 1));
+        Assert.assertTrue(pauses.isEmpty());
+        Assert.assertEquals(1, engine.getLastMetrics().getPolls());
+        Assert.assertTrue(engine.getLastMetrics().isSuccessful());
+    }
+    @Test
+    public void testPollingBacksOffExponentially() {
+        final int[] calls = {0};
+        Boolean result = engine.until(driver -> {
+            calls[0]++;
+            if (calls[0] < 6) {
+                throw new NoSuchElementException("Not yet");
+            }
+            return true;
+        }, 1);
+        Assert.assertTrue(result);
+        Assert.assertEquals(Arrays.asList(10L, 20L, 40L, 80L, 80L), pauses);
+        Assert.assertEquals(6, engine.getLastMetrics().getPolls());
+        Assert.assertEquals(230L, engine.getLastMetrics().getWaitTime());
+    }
+    @Test
+    public void testTimeoutIsNotExceeded() {
+        Assert.assertNull(engine.until(driver -> false, 1));
+        Assert.assertEquals(1000L, now[0]);
+        Assert.assertEquals(1000L, engine.getLastMetrics().getWaitTime());
+        Assert.assertFalse(engine.getLastMetrics().isSuccessful());
+    }
+    @Test
+    public void testEngineDoesNotKeepDriver() throws Exception {
+        WeakReference<WebDriver> reference = new WeakReference<WebDriver>(driver);
+        driver = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assert.assertNull(reference.get());
+        Assert.assertNull(engine.until(current -> true, 1));
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.mkolisnyk.sirius.client.ui.controls;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebElement;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.SubItem;
+import com.github.mkolisnyk.sirius.client.ui.predicates.Actions;
+import com.github.mkolisnyk.sirius.client.ui.predicates.Getters;
+
+public class ControlTest {
+    private CountingWebDriver driver;
+    private Control control;
+
+    public static class CountingWebDriver extends MockWebDriver {
+        private int searches = 0;
+        private int clicks = 0;
+        private boolean missing = false;
+        private boolean stale = false;
+        private String text = "text";
+
+        @Override
+        public WebElement findElement(By by) {
+            searches++;
+            if (missing) {
+                throw new NoSuchElementException("Element is missing");
+            }
+            final boolean staleElement = stale;
+            final String elementText = text;
+            stale = false;
+            return new MockWebElement() {
+                @Override
+                public String getText() {
+                    if (staleElement) {
+                        throw new StaleElementReferenceException("Element is stale");
+                    }
+                    return elementText;
+                }
+                @Override
+                public void click() {
+                    if (staleElement) {
+                        throw new StaleElementReferenceException("Element is stale");
+                    }
+                    clicks++;
+                }
+                @Override
+                public String getAttribute(String name) {
+                    return name;
+                }
+            };
+        }
+        public int getSearches() {
+            return searches;
+        }
+        public int getClicks() {
+            return clicks;
+        }
+        public void setMissing(boolean missingValue) {
+            this.missing = missingValue;
+        }
+        public void setStale(boolean staleValue) {
+            this.stale = staleValue;
+        }
+        public void setText(String textValue) {
+            this.text = textValue;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new CountingWebDriver();
+        control = new Control(new Page(driver), By.id("test"));
+    }
+
+    @Test
+    public void testLocatedElementIsReused() {
+        WebElement element = control.element();
+        Assert.assertEquals("text", control.withElement(WebElement::getText));
+        Assert.assertEquals(1, driver.getSearches());
+        control.refresh();
+        Assert.assertNotSame(element, control.element());
+        Assert.assertEquals(2, driver.getSearches());
+    }
+    @Test
+    public void testElementReflectsReRenderedPage() {
+        WebElement element = control.element();
+        driver.setText("re-rendered");
+        WebElement current = control.element();
+        Assert.assertNotSame(element, current);
+        Assert.assertEquals("re-rendered", current.getText());
+        Assert.assertEquals("re-rendered", control.withElement(WebElement::getText));
+        Assert.assertEquals(2, driver.getSearches());
+    }
+    @Test
+    public void testStaleElementIsLocatedAgain() {
+        driver.setStale(true);
+        Assert.assertEquals("text", control.withElement(WebElement::getText));
+        Assert.assertEquals(2, driver.getSearches());
+        Assert.assertEquals("text", control.withElement(WebElement::getText));
+        Assert.assertEquals(2, driver.getSearches());
+    }
+    @Test
+    public void testEachActionLocatesElementOnce() {
+        Actions.click().apply(control);
+        Assert.assertEquals(1, driver.getClicks());
+        Assert.assertEquals(1, driver.getSearches());
+        Assert.assertEquals("text", control.getText());
+        Assert.assertEquals(2, driver.getSearches());
+        Assert.assertEquals("class", control.get(Getters.attribute("class")));
+        Assert.assertEquals(3, driver.getSearches());
+    }
+    @Test
+    public void testStaleElementIsAwaitedAgain() {
+        driver.setStale(true);
+        Actions.click().apply(control);
+        Assert.assertEquals(1, driver.getClicks());
+        Assert.assertEquals(2, driver.getSearches());
+    }
+    @Test
+    public void testMissingElementIsReportedOnTimeout() {
+        driver.setMissing(true);
+        try {
+            control.withElement(0, WebElement::getText);
+            Assert.fail("Missing element wasn't reported");
+        } catch (AssertionError e) {
+            Assert.assertEquals("Unable to verify that Element with locator '" + control.getLocatorText()
+                    + "' exists.", e.getMessage());
+        }
+        Assert.assertNull(control.awaitElement(0));
+        Assert.assertEquals(0, driver.getClicks());
+        Assert.assertEquals(2, driver.getSearches());
+    }
+    @Test
+    public void testSharedSubItemsAreCopiedPerControl() {
+        HashMap<String, SubItem> shared = new HashMap<String, SubItem>();
+        Control first = new Control(control.getParent(), By.id("first"));
+        Control second = new Control(control.getParent(), By.id("second"));
+        first.setSubItems(shared);
+        second.setSubItems(shared);
+        first.getSubItemsMap().put("Name", null);
+        Assert.assertTrue(first.getSubItemsMap().containsKey("Name"));
+        Assert.assertTrue(shared.isEmpty());
+        Assert.assertTrue(second.getSubItemsMap().isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.mkolisnyk.sirius.client.ui.controls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebElement;
+import com.github.mkolisnyk.sirius.client.ui.DomEpoch;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.SubItem;
+
+public class TableViewTest {
+    private static final Pattern ROW_INDEX = Pattern.compile("\\)\\[(\\d+)\\]");
+    private static final Pattern CELL_INDEX = Pattern.compile("td\\[(\\d+)\\]");
+
+    @SubItem(name = "First Name", locator = "/td[1]")
+    @SubItem(name = "Last Name", locator = "/td[2]")
+    private TableView sample;
+
+    private RowsWebDriver driver;
+    private TableView table;
+
+    public static class RowsWebDriver extends MockWebDriver {
+        private List<String[]> rows = new ArrayList<String[]>();
+        private int searches = 0;
+
+        @Override
+        public WebElement findElement(By by) {
+            searches++;
+            Matcher matcher = ROW_INDEX.matcher(by.toString());
+            Assert.assertTrue(by.toString(), matcher.find());
+            final String[] row = rows.get(Integer.parseInt(matcher.group(1)) - 1);
+            return new MockWebElement() {
+                @Override
+                public WebElement findElement(By cell) {
+                    Matcher cellMatcher = CELL_INDEX.matcher(cell.toString());
+                    Assert.assertTrue(cell.toString(), cellMatcher.find());
+                    final String text = row[Integer.parseInt(cellMatcher.group(1)) - 1];
+                    return new MockWebElement() {
+                        @Override
+                        public String getText() {
+                            return text;
+                        }
+                    };
+                }
+            };
+        }
+        public int getSearches() {
+            return searches;
+        }
+        public void addRow(String... cells) {
+            rows.add(cells);
+        }
+        public void reverse() {
+            Collections.reverse(rows);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new RowsWebDriver();
+        driver.addRow("John", "Smith");
+        driver.addRow("Jane", "Doe");
+        table = new TableView(new Page(driver), By.xpath("//table"));
+        table.setItemLocatorText("/tbody/tr");
+        table.addSubItems(getClass().getDeclaredField("sample").getAnnotationsByType(SubItem.class));
+    }
+
+    private String cell(String name, int index) throws Exception {
+        return table.getSubItem(name, index).getText();
+    }
+
+    @Test
+    public void testSubItemsAreResolvedInsideOfItem() throws Exception {
+        Assert.assertEquals(Arrays.asList("John", "Smith", "Jane", "Doe"),
+                Arrays.asList(cell("First Name", 0), cell("Last Name", 0),
+                        cell("First Name", 1), cell("Last Name", 1)));
+        Assert.assertEquals(2, driver.getSearches());
+        Assert.assertEquals(By.xpath("(//table/tbody/tr)[2]/td[1]"), table.getSubItemLocator("First Name", 1));
+    }
+    @Test
+    public void testItemsAreLocatedAgainAfterAction() throws Exception {
+        Assert.assertEquals("John", cell("First Name", 0));
+        driver.reverse();
+        DomEpoch.invalidate();
+        Assert.assertEquals("Jane", cell("First Name", 0));
+        Assert.assertEquals("Doe", cell("Last Name", 0));
+        Assert.assertEquals(2, driver.getSearches());
+    }
+    @Test
+    public void testRefreshDropsItems() throws Exception {
+        Control item = table.getItem(0);
+        Assert.assertEquals("John", cell("First Name", 0));
+        driver.reverse();
+        table.refresh();
+        Assert.assertNotSame(item, table.getItem(0));
+        Assert.assertEquals("Jane", cell("First Name", 0));
+        Assert.assertEquals(2, driver.getSearches());
+    }
+}
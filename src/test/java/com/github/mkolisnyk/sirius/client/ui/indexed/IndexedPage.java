@@ -0,0 +1,14 @@
+package com.github.mkolisnyk.sirius.client.ui.indexed;
+
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.ui.Alias;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+
+@Alias("Indexed")
+public class IndexedPage extends Page {
+
+    public IndexedPage(WebDriver driverValue) {
+        super(driverValue);
+    }
+}
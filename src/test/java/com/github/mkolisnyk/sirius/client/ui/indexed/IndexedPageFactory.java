@@ -0,0 +1,13 @@
+package com.github.mkolisnyk.sirius.client.ui.indexed;
+
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.ui.GeneratedPageFactory;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+
+public class IndexedPageFactory implements GeneratedPageFactory<IndexedPage> {
+    @Override
+    public IndexedPage create(WebDriver driver, Page parent) throws Exception {
+        return new IndexedPage(driver);
+    }
+}
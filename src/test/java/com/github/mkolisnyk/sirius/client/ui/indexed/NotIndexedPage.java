@@ -0,0 +1,14 @@
+package com.github.mkolisnyk.sirius.client.ui.indexed;
+
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.ui.Alias;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+
+@Alias("Not Indexed")
+public class NotIndexedPage extends Page {
+
+    public NotIndexedPage(WebDriver driverValue) {
+        super(driverValue);
+    }
+}
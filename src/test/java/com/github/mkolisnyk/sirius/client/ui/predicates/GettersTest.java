@@ -0,0 +1,106 @@
+package com.github.mkolisnyk.sirius.client.ui.predicates;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.Driver;
+import com.github.mkolisnyk.sirius.client.ui.FindBy;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.PageSnapshotTest.ScriptWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.WaitEngine;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class GettersTest {
+    private ScriptWebDriver driver;
+    private long now;
+
+    public static class LoginPage extends Page {
+        public LoginPage(WebDriver driverValue) {
+            super(driverValue);
+        }
+        @FindBy(locator = "header")
+        public Control header;
+        @FindBy(locator = "login")
+        public Control login;
+    }
+    public static class HomePage extends Page {
+        public HomePage(WebDriver driverValue) {
+            super(driverValue);
+        }
+        @FindBy(locator = "header")
+        public Control header;
+        @FindBy(locator = "logout")
+        public Control logout;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new ScriptWebDriver();
+        Driver.init(driver);
+        now = 0L;
+        WaitEngine engine = WaitEngine.of(driver);
+        engine.setClock(() -> now);
+        engine.setSleeper(millis -> now += millis);
+    }
+
+    @Test
+    public void testFirstPageIsDetectedWithSingleSnapshot() {
+        driver.respond(Arrays.asList(
+                Arrays.asList(true, true, true, "", null),
+                Arrays.asList(false, false, false, "", null),
+                Arrays.asList(true, true, true, "", null)));
+        Class<? extends Page>[] pages = new Class[] {LoginPage.class, HomePage.class};
+        Page page = new Page(driver).get(Getters.first(pages, 1, true));
+        Assert.assertTrue(page instanceof HomePage);
+        Assert.assertEquals(1, driver.getRequests().size());
+        Assert.assertEquals(3, driver.getRequests().get(0).size());
+    }
+    @Test
+    public void testFirstControlIsFoundWithSingleSnapshot() throws Exception {
+        driver.respond(Arrays.asList(
+                Arrays.asList(false, false, false, "", null),
+                Arrays.asList(true, true, true, "", null)));
+        HomePage page = new HomePage(driver);
+        page.header = new Control(page, By.id("header"));
+        page.logout = new Control(page, By.id("logout"));
+        Control control = page.get(Getters.first(new Control[] {page.logout, page.header}, 1));
+        Assert.assertSame(page.header, control);
+        Assert.assertEquals(1, driver.getRequests().size());
+    }
+    @Test
+    public void testPageDetectionIsRepeatedWithinTries() {
+        for (int i = 0; i < 20; i++) {
+            driver.respond(Arrays.asList(
+                    Arrays.asList(false, false, false, "", null),
+                    Arrays.asList(false, false, false, "", null),
+                    Arrays.asList(false, false, false, "", null)));
+        }
+        Class<? extends Page>[] pages = new Class[] {LoginPage.class, HomePage.class};
+        Assert.assertNull(new Page(driver).get(Getters.first(pages, 3, false)));
+        Assert.assertEquals(3000L, WaitEngine.of(driver).getLastMetrics().getElapsed());
+        Assert.assertTrue(driver.getRequests().size() > 1);
+    }
+    @Test
+    public void testControlSearchIsRepeatedWithinTries() {
+        for (int i = 0; i < 20; i++) {
+            driver.respond(Arrays.asList(
+                    Arrays.asList(false, false, false, "", null),
+                    Arrays.asList(false, false, false, "", null)));
+        }
+        HomePage page = new HomePage(driver);
+        page.header = new Control(page, By.id("header"));
+        page.logout = new Control(page, By.id("logout"));
+        Assert.assertNull(page.get(Getters.first(new Control[] {page.logout, page.header}, 2)));
+        Assert.assertEquals(2000L, WaitEngine.of(driver).getLastMetrics().getElapsed());
+        Assert.assertTrue(driver.getRequests().size() > 1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.mkolisnyk.sirius.client.ui.predicates;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class StateOperationTest {
+    private Page page;
+    private Control first;
+    private Control second;
+    private AtomicInteger checks;
+
+    private StateOperation state(final int timeout, final Control expected) {
+        return new StateOperation(timeout, null, value -> state(value, expected)) {
+            @Override
+            public Boolean apply(Control element) {
+                checks.incrementAndGet();
+                return element == expected;
+            }
+            @Override
+            public String description(Control parameter) {
+                return String.format("Element is '%s'.", expected.getLocatorText());
+            }
+        };
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        page = new Page(new MockWebDriver());
+        first = new Control(page, By.id("first"));
+        second = new Control(page, By.id("second"));
+        checks = new AtomicInteger();
+    }
+
+    @Test
+    public void testAnyOfCompletesOnFirstMatchingControl() {
+        Assert.assertTrue(page.anyOf(new Control[] {first, second}, state(60, second)));
+        Assert.assertEquals(2, checks.get());
+    }
+    @Test
+    public void testAllOfFailsWithinSingleTimeout() {
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(page.allOf(new Control[] {first, second}, state(1, first)));
+        Assert.assertTrue(System.currentTimeMillis() - start < 2000L);
+    }
+    @Test
+    public void testAwaitChecksEachControlWithItsPredicate() {
+        Assert.assertTrue(StateOperation.await(Arrays.asList(first, second),
+                Arrays.asList(state(1, first), state(1, second)), true, 1));
+        Assert.assertEquals(2, checks.get());
+    }
+    @Test
+    public void testVerifyReportsFirstUnmetState() {
+        try {
+            first.verify(state(1, first), state(1, second), state(1, first));
+            Assert.fail("Verification is expected to fail");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Unable to verify that Element is '"));
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(second.getLocatorText()));
+        }
+    }
+    @Test
+    public void testUnmetIsNegativeWhenAllStatesAreMet() {
+        Assert.assertEquals(-1, StateOperation.unmet(Arrays.asList(first, second),
+                Arrays.asList(state(1, first), state(1, second)), 1));
+    }
+}
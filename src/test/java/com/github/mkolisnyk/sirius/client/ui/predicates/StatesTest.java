@@ -0,0 +1,117 @@
+package com.github.mkolisnyk.sirius.client.ui.predicates;
+
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.disabled;
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.disappears;
+import static com.github.mkolisnyk.sirius.client.ui.predicates.States.invisible;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.Driver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebElement;
+import com.github.mkolisnyk.sirius.client.ui.ImplicitWait;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+
+public class StatesTest {
+    private ProbingWebDriver driver;
+    private Control control;
+
+    public static class ProbingWebDriver extends MockWebDriver {
+        private List<String> calls = new ArrayList<String>();
+        private List<WebElement> elements = Collections.<WebElement>emptyList();
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            calls.add("find");
+            return elements;
+        }
+        @Override
+        public Options manage() {
+            return (Options) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {Options.class, Timeouts.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("implicitlyWait")) {
+                            calls.add("implicitlyWait " + args[0]);
+                        }
+                        return proxy;
+                    });
+        }
+        public List<String> getCalls() {
+            return calls;
+        }
+        public void setElements(List<WebElement> elementsValue) {
+            this.elements = elementsValue;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        driver = new ProbingWebDriver();
+        control = new Control(new Page(driver), By.id("item"));
+    }
+    @After
+    public void tearDown() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+    }
+
+    @Test
+    public void testAbsentElementIsCheckedOnceWithoutImplicitWait() {
+        ImplicitWait.set(driver, 5, TimeUnit.SECONDS);
+        driver.getCalls().clear();
+        Assert.assertTrue(control.is(disappears(60)));
+        Assert.assertEquals(3, driver.getCalls().size());
+        Assert.assertEquals("implicitlyWait 0", driver.getCalls().get(0));
+        Assert.assertEquals("find", driver.getCalls().get(1));
+        Assert.assertEquals("implicitlyWait 5000", driver.getCalls().get(2));
+    }
+    @Test
+    public void testHiddenElementIsCheckedOnce() {
+        driver.setElements(Collections.<WebElement>singletonList(new MockWebElement() {
+            @Override
+            public boolean isDisplayed() {
+                return false;
+            }
+        }));
+        Assert.assertTrue(control.is(invisible(60)));
+        Assert.assertEquals(1, driver.getCalls().size());
+    }
+    @Test
+    public void testDisabledElementIsCheckedOnce() {
+        driver.setElements(Collections.<WebElement>singletonList(new MockWebElement() {
+            @Override
+            public boolean isDisplayed() {
+                return true;
+            }
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+        }));
+        Assert.assertTrue(control.is(disabled(60)));
+        Assert.assertEquals(1, driver.getCalls().size());
+    }
+    @Test
+    public void testDriverIsInitialisedWithoutConfiguration() {
+        Configuration.reset();
+        Configuration.setDefaultConfigFile("missing.properties");
+        Driver.init(driver);
+        Assert.assertSame(driver, Driver.current());
+        Assert.assertTrue(driver.getCalls().isEmpty());
+    }
+}
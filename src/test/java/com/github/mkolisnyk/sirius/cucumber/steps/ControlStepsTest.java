@@ -0,0 +1,52 @@
+package com.github.mkolisnyk.sirius.cucumber.steps;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+
+import com.github.mkolisnyk.sirius.client.Configuration;
+import com.github.mkolisnyk.sirius.client.mocks.MockWebDriver;
+import com.github.mkolisnyk.sirius.client.ui.ControlState;
+import com.github.mkolisnyk.sirius.client.ui.Page;
+import com.github.mkolisnyk.sirius.client.ui.controls.Control;
+import com.github.mkolisnyk.sirius.client.ui.controls.Edit;
+
+public class ControlStepsTest {
+    private ControlSteps steps;
+    private Page page;
+
+    @Before
+    public void setUp() throws IOException {
+        Configuration.setDefaultConfigFile("src/test/resources/config.properties");
+        Configuration.load();
+        steps = new ControlSteps();
+        page = new Page(new MockWebDriver());
+    }
+
+    @Test
+    public void testTextIsTakenFromSnapshotForPlainControl() {
+        Control control = new Control(page, By.id("label"));
+        Assert.assertTrue(steps.getSnapshotCondition(control, "Has Text", "Login")
+                .test(new ControlState(true, true, true, "Login", null)));
+        Assert.assertTrue(steps.getSnapshotCondition(control, "Value", "Login")
+                .test(new ControlState(true, true, true, "", "Login")));
+    }
+    @Test
+    public void testEditTextIsNotTakenFromSnapshot() {
+        Edit edit = new Edit(page, By.id("login"));
+        Assert.assertNull(steps.getSnapshotCondition(edit, "Has Text", "Login"));
+        Assert.assertNotNull(steps.getSnapshotCondition(edit, "Value", "Login"));
+        Assert.assertNotNull(steps.getSnapshotCondition(edit, "Visible", "Y"));
+    }
+    @Test
+    public void testStateConditionDoesNotDependOnExpectedValue() {
+        Control control = new Control(page, By.id("label"));
+        ControlState hidden = new ControlState(true, false, true, "", null);
+        Assert.assertFalse(steps.getSnapshotCondition(control, "Visible", "Y").test(hidden));
+        Assert.assertFalse(steps.getSnapshotCondition(control, "Visible", "N").test(hidden));
+        Assert.assertNull(steps.getSnapshotCondition(control, "Visible", "-"));
+    }
+}